@@ -0,0 +1,40 @@
+package com.kkk.shortlink.admin.common.convert;
+
+import com.kkk.shortlink.admin.dao.entity.GroupDO;
+import com.kkk.shortlink.admin.dto.resp.ShortLinkGroupRespDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 短链接分组对象转换
+ * 逐字段调用 getter/setter，不经过反射拷贝；实体或返回参数增删字段时需同步修改
+ */
+public final class GroupConverter {
+
+    private GroupConverter() {
+    }
+
+    /**
+     * 分组实体转返回参数
+     */
+    public static ShortLinkGroupRespDTO toGroupResp(GroupDO groupDO) {
+        ShortLinkGroupRespDTO result = new ShortLinkGroupRespDTO();
+        result.setGid(groupDO.getGid());
+        result.setName(groupDO.getName());
+        result.setUsername(groupDO.getUsername());
+        result.setSortOrder(groupDO.getSortOrder());
+        return result;
+    }
+
+    /**
+     * 分组实体列表转返回参数列表
+     */
+    public static List<ShortLinkGroupRespDTO> toGroupRespList(List<GroupDO> groupDOList) {
+        List<ShortLinkGroupRespDTO> result = new ArrayList<>(groupDOList.size());
+        for (GroupDO each : groupDOList) {
+            result.add(toGroupResp(each));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+package com.kkk.shortlink.admin.common.convert;
+
+import com.kkk.shortlink.admin.dao.entity.UserDO;
+import com.kkk.shortlink.admin.dto.req.UserRegisterReqDTO;
+import com.kkk.shortlink.admin.dto.req.UserUpdateReqDTO;
+import com.kkk.shortlink.admin.dto.resp.UserActualRespDTO;
+import com.kkk.shortlink.admin.dto.resp.UserRespDTO;
+
+/**
+ * 用户对象转换
+ * 逐字段调用 getter/setter，不经过反射拷贝；实体或请求、返回参数增删字段时需同步修改
+ */
+public final class UserConverter {
+
+    private UserConverter() {
+    }
+
+    /**
+     * 注册请求参数转用户实体
+     */
+    public static UserDO toUserDO(UserRegisterReqDTO requestParam) {
+        UserDO result = new UserDO();
+        result.setUsername(requestParam.getUsername());
+        result.setPassword(requestParam.getPassword());
+        result.setRealName(requestParam.getRealName());
+        result.setPhone(requestParam.getPhone());
+        result.setMail(requestParam.getMail());
+        return result;
+    }
+
+    /**
+     * 修改请求参数转用户实体，为空的字段不参与更新
+     */
+    public static UserDO toUserDO(UserUpdateReqDTO requestParam) {
+        UserDO result = new UserDO();
+        result.setUsername(requestParam.getUsername());
+        result.setPassword(requestParam.getPassword());
+        result.setRealName(requestParam.getRealName());
+        result.setPhone(requestParam.getPhone());
+        result.setMail(requestParam.getMail());
+        return result;
+    }
+
+    /**
+     * 用户实体转返回参数，手机号在序列化时脱敏
+     */
+    public static UserRespDTO toUserResp(UserDO userDO) {
+        UserRespDTO result = new UserRespDTO();
+        result.setId(userDO.getId());
+        result.setUsername(userDO.getUsername());
+        result.setRealName(userDO.getRealName());
+        result.setPhone(userDO.getPhone());
+        result.setMail(userDO.getMail());
+        return result;
+    }
+
+    /**
+     * 用户返回参数转无脱敏返回参数
+     */
+    public static UserActualRespDTO toUserActualResp(UserRespDTO userRespDTO) {
+        UserActualRespDTO result = new UserActualRespDTO();
+        result.setId(userRespDTO.getId());
+        result.setUsername(userRespDTO.getUsername());
+        result.setRealName(userRespDTO.getRealName());
+        result.setPhone(userRespDTO.getPhone());
+        result.setMail(userRespDTO.getMail());
+        return result;
+    }
+}
@@ -1,8 +1,8 @@
 package com.kkk.shortlink.admin.controller;
 
-import cn.hutool.core.bean.BeanUtil;
 import com.kkk.shortlink.admin.common.convention.result.Result;
 import com.kkk.shortlink.admin.common.convention.result.Results;
+import com.kkk.shortlink.admin.common.convert.UserConverter;
 import com.kkk.shortlink.admin.dto.req.UserLoginReqDTO;
 import com.kkk.shortlink.admin.dto.req.UserRegisterReqDTO;
 import com.kkk.shortlink.admin.dto.req.UserUpdateReqDTO;
@@ -43,7 +43,7 @@ public class UserController {
      */
     @GetMapping("/api/short-link/admin/v1/actual/user/{username}")
     public Result<UserActualRespDTO> getActualUserByUsername(@PathVariable("username") String username) {
-        return Results.success(BeanUtil.copyProperties(userService.getUserByUserName(username), UserActualRespDTO.class));
+        return Results.success(UserConverter.toUserActualResp(userService.getUserByUserName(username)));
     }
 
     /**
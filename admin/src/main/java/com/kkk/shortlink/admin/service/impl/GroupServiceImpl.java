@@ -1,11 +1,11 @@
 package com.kkk.shortlink.admin.service.impl;
 
-import cn.hutool.core.bean.BeanUtil;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.kkk.shortlink.admin.common.biz.user.UserContext;
+import com.kkk.shortlink.admin.common.convert.GroupConverter;
 import com.kkk.shortlink.admin.dao.entity.GroupDO;
 import com.kkk.shortlink.admin.dao.mapper.GroupMapper;
 import com.kkk.shortlink.admin.dto.req.ShortLinkGroupSortReqDTO;
@@ -48,7 +48,7 @@ public class GroupServiceImpl extends ServiceImpl<GroupMapper, GroupDO> implemen
                 .eq(GroupDO::getDelFlag,0)
                 .orderByDesc(GroupDO::getSortOrder,GroupDO::getUpdateTime);
         List<GroupDO> groupDOList = baseMapper.selectList(queryWrapper);
-        return BeanUtil.copyToList(groupDOList, ShortLinkGroupRespDTO.class);
+        return GroupConverter.toGroupRespList(groupDOList);
     }
 
     @Override
@@ -1,6 +1,5 @@
 package com.kkk.shortlink.admin.service.impl;
 
-import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.lang.UUID;
 import com.alibaba.fastjson2.JSON;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
@@ -8,6 +7,7 @@ import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.kkk.shortlink.admin.common.convention.exception.ClientException;
+import com.kkk.shortlink.admin.common.convert.UserConverter;
 import com.kkk.shortlink.admin.common.enums.UserErrorCodeEnum;
 import com.kkk.shortlink.admin.dao.entity.UserDO;
 import com.kkk.shortlink.admin.dao.mapper.UserMapper;
@@ -21,7 +21,6 @@ import lombok.RequiredArgsConstructor;
 import org.redisson.api.RBloomFilter;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
-import org.springframework.beans.BeanUtils;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
@@ -50,9 +49,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, UserDO> implements
         if (userDO == null) {
             throw new ClientException(UserErrorCodeEnum.USER_NULL);
         }
-        UserRespDTO result = new UserRespDTO();
-        BeanUtils.copyProperties(userDO,result);
-        return result;
+        return UserConverter.toUserResp(userDO);
     }
 
     @Override
@@ -74,7 +71,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, UserDO> implements
         RLock lock = redissonClient.getLock(LOCK_USER_REGISTER_KEY+requestParam.getUsername());
         try {
             if (lock.tryLock()) {
-                int inserted = baseMapper.insert(BeanUtil.toBean(requestParam, UserDO.class));
+                int inserted = baseMapper.insert(UserConverter.toUserDO(requestParam));
                 if (inserted < 1) {
                     throw new ClientException(USER_SAVE_ERROR);
                 }
@@ -93,7 +90,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, UserDO> implements
         //TODO 验证当前用户名是否为登录用户
         LambdaUpdateWrapper<UserDO> updateWrapper = Wrappers.lambdaUpdate(UserDO.class)
                 .eq(UserDO::getUsername, requestParam.getUsername());
-        baseMapper.update(BeanUtil.toBean(requestParam, UserDO.class), updateWrapper);
+        baseMapper.update(UserConverter.toUserDO(requestParam), updateWrapper);
     }
 
     @Override
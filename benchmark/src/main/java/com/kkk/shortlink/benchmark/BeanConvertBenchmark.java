@@ -0,0 +1,107 @@
+package com.kkk.shortlink.benchmark;
+
+import cn.hutool.core.bean.BeanUtil;
+import com.kkk.shortlink.admin.common.convert.GroupConverter;
+import com.kkk.shortlink.admin.common.convert.UserConverter;
+import com.kkk.shortlink.admin.dao.entity.GroupDO;
+import com.kkk.shortlink.admin.dao.entity.UserDO;
+import com.kkk.shortlink.admin.dto.req.UserRegisterReqDTO;
+import com.kkk.shortlink.admin.dto.resp.ShortLinkGroupRespDTO;
+import com.kkk.shortlink.project.common.convert.ShortLinkConverter;
+import com.kkk.shortlink.project.dao.entity.ShortLinkDO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkPageRespDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对象转换基准：hutool BeanUtil 反射拷贝对比 ShortLinkConverter、UserConverter、GroupConverter 逐字段转换
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanConvertBenchmark {
+
+    private ShortLinkDO shortLinkDO;
+
+    private UserRegisterReqDTO userRegisterReqDTO;
+
+    private List<GroupDO> groupDOList;
+
+    @Setup
+    public void setup() {
+        shortLinkDO = ShortLinkDO.builder()
+                .id(1700000000000000000L)
+                .domain("nurl.ink")
+                .shortUri("3sKq1a")
+                .fullShortUrl("nurl.ink/3sKq1a")
+                .originUrl("https://www.example.com/marketing/campaign/2023/landing?utm_source=newsletter")
+                .clickNum(128)
+                .gid("Ab3dEf")
+                .enableStatus(0)
+                .createdType(1)
+                .validDateType(1)
+                .validDate(new Date())
+                .describe("双十一活动落地页")
+                .favicon("https://www.example.com/favicon.ico")
+                .build();
+        shortLinkDO.setCreateTime(new Date());
+        shortLinkDO.setUpdateTime(new Date());
+        shortLinkDO.setDelFlag(0);
+        userRegisterReqDTO = new UserRegisterReqDTO();
+        userRegisterReqDTO.setUsername("kkk");
+        userRegisterReqDTO.setPassword("123456");
+        userRegisterReqDTO.setRealName("张三");
+        userRegisterReqDTO.setPhone("13800000000");
+        userRegisterReqDTO.setMail("kkk@example.com");
+        groupDOList = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            groupDOList.add(GroupDO.builder().id((long) i).gid("Ab3dE" + i).name("分组" + i).username("kkk").sortOrder(i).build());
+        }
+    }
+
+    @Benchmark
+    public ShortLinkPageRespDTO hutoolToBean() {
+        return BeanUtil.toBean(shortLinkDO, ShortLinkPageRespDTO.class);
+    }
+
+    @Benchmark
+    public ShortLinkPageRespDTO converter() {
+        return ShortLinkConverter.toPageResp(shortLinkDO);
+    }
+
+    @Benchmark
+    public UserDO userHutoolToBean() {
+        return BeanUtil.toBean(userRegisterReqDTO, UserDO.class);
+    }
+
+    @Benchmark
+    public UserDO userConverter() {
+        return UserConverter.toUserDO(userRegisterReqDTO);
+    }
+
+    @Benchmark
+    public List<ShortLinkGroupRespDTO> groupListHutoolCopyToList() {
+        return BeanUtil.copyToList(groupDOList, ShortLinkGroupRespDTO.class);
+    }
+
+    @Benchmark
+    public List<ShortLinkGroupRespDTO> groupListConverter() {
+        return GroupConverter.toGroupRespList(groupDOList);
+    }
+}
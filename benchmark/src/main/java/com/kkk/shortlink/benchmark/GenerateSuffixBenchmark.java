@@ -0,0 +1,93 @@
+package com.kkk.shortlink.benchmark;
+
+import com.kkk.shortlink.project.toolkit.suffix.HashShortUriGenerator;
+import com.kkk.shortlink.project.toolkit.suffix.SegmentIdAllocator;
+import com.kkk.shortlink.project.toolkit.suffix.SegmentShortUriGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 短链接后缀生成基准，布隆过滤器以内存判重替身代替，只衡量生成与重试循环本身的开销。
+ * existsRatio 为替身判定“已存在”的概率，用于模拟布隆过滤器填充率升高后的误判重试
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerateSuffixBenchmark {
+
+    private static final String DOMAIN = "nurl.ink";
+
+    private static final String ORIGIN_URL = "https://www.example.com/marketing/campaign/2023/landing?utm_source=newsletter";
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"0", "0.01", "0.1"})
+    private double existsRatio;
+
+    private HashShortUriGenerator hashShortUriGenerator;
+
+    private SegmentShortUriGenerator segmentShortUriGenerator;
+
+    private List<String> batchOriginUrls;
+
+    @Setup
+    public void setup() {
+        hashShortUriGenerator = new HashShortUriGenerator(
+                fullShortUrl -> exists(),
+                fullShortUrls -> fullShortUrls.stream().map(each -> exists()).toList(),
+                false
+        );
+        AtomicLong segmentCounter = new AtomicLong();
+        segmentShortUriGenerator = new SegmentShortUriGenerator(new SegmentIdAllocator(segmentCounter::addAndGet, 1000, 0.2));
+        batchOriginUrls = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batchOriginUrls.add(ORIGIN_URL + "&id=" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        segmentShortUriGenerator.close();
+    }
+
+    @Benchmark
+    public String hash() {
+        return hashShortUriGenerator.generate(DOMAIN, ORIGIN_URL);
+    }
+
+    /**
+     * 批量生成 100 个后缀，每轮一次批量判重
+     */
+    @Benchmark
+    public List<String> hashBatch() {
+        return hashShortUriGenerator.generateBatch(DOMAIN, batchOriginUrls);
+    }
+
+    @Benchmark
+    public String segment() {
+        return segmentShortUriGenerator.generate(DOMAIN, ORIGIN_URL);
+    }
+
+    private boolean exists() {
+        return existsRatio > 0 && ThreadLocalRandom.current().nextDouble() < existsRatio;
+    }
+}
@@ -0,0 +1,63 @@
+package com.kkk.shortlink.benchmark;
+
+import com.kkk.shortlink.project.toolkit.HashUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 短链接后缀哈希基准：拼接字符串后哈希（历史实现）对比直接哈希 UTF-8 字节与盐
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashUtilBenchmark {
+
+    @Param({
+            "https://nageoffer.com",
+            "https://www.example.com/marketing/campaign/2023/landing?utm_source=newsletter&utm_medium=email"
+    })
+    private String originUrl;
+
+    private byte[] originUrlBytes;
+
+    /**
+     * 模拟时间戳盐，每次调用递增以免哈希输入相同
+     */
+    private long salt;
+
+    @Setup
+    public void setup() {
+        originUrlBytes = originUrl.getBytes(StandardCharsets.UTF_8);
+        salt = 1700000000000L;
+    }
+
+    @Benchmark
+    public String concatenated() {
+        return HashUtil.hashToBase62(originUrl + salt++);
+    }
+
+    @Benchmark
+    public String compatible() {
+        return HashUtil.hashToBase62(originUrlBytes, salt++);
+    }
+
+    @Benchmark
+    public String fixedWidth() {
+        return HashUtil.hashToFixedBase62(originUrlBytes, salt++);
+    }
+}
@@ -0,0 +1,53 @@
+package com.kkk.shortlink.benchmark;
+
+import com.alibaba.fastjson2.JSON;
+import com.kkk.shortlink.admin.common.biz.user.UserInfoDTO;
+import com.kkk.shortlink.admin.dao.entity.UserDO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserTransmitFilter 每个请求都会把 Redis 中的登录信息解析为 UserInfoDTO，登录时写入的是完整的 UserDO JSON
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserInfoParseBenchmark {
+
+    private String userInfoJsonStr;
+
+    @Setup
+    public void setup() {
+        UserDO userDO = new UserDO();
+        userDO.setId(1700000000000000000L);
+        userDO.setUsername("marketing_ops");
+        userDO.setPassword("e10adc3949ba59abbe56e057f20f883e");
+        userDO.setRealName("张三");
+        userDO.setPhone("13800000000");
+        userDO.setMail("ops@example.com");
+        userDO.setDeletionTime(0L);
+        userDO.setCreateTime(new Date());
+        userDO.setUpdateTime(new Date());
+        userDO.setDelFlag(0);
+        userInfoJsonStr = JSON.toJSONString(userDO);
+    }
+
+    @Benchmark
+    public UserInfoDTO parseUserInfo() {
+        return JSON.parseObject(userInfoJsonStr, UserInfoDTO.class);
+    }
+}
@@ -0,0 +1,118 @@
+package com.kkk.shortlink.project.common.accesslog;
+
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessEvent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 原始访问日志定长记录布局，每条记录 1KB：
+ * <pre>
+ * 0    提交标记 int，字段写完后以 release 语义写入，读取方 acquire 读到标记才认为记录完整
+ * 4    访问时间戳 long
+ * 12   完整短链接  1 字节长度 + 128 字节
+ * 141  分组标识    1 字节长度 + 32 字节
+ * 174  访客标识    1 字节长度 + 32 字节
+ * 207  IP          1 字节长度 + 46 字节
+ * 254  User-Agent  2 字节长度 + 256 字节
+ * 512  来源页面    2 字节长度 + 510 字节
+ * </pre>
+ * 字符串按 UTF-8 直接编码进映射缓冲区，不经过中间 byte[]，超长部分按完整字符截断
+ */
+final class AccessLogRecord {
+
+    static final int RECORD_SIZE = 1024;
+
+    private static final int COMMITTED = 0x5A4C0001;
+
+    private static final VarHandle INT_HANDLE = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final int TIMESTAMP_OFFSET = 4;
+
+    /**
+     * 各字符串字段的偏移、长度前缀字节数、容量
+     */
+    private static final int[][] FIELDS = {
+            {12, 1, 128},
+            {141, 1, 32},
+            {174, 1, 32},
+            {207, 1, 46},
+            {254, 2, 256},
+            {512, 2, 510}
+    };
+
+    private static final ThreadLocal<CharsetEncoder> ENCODER = ThreadLocal.withInitial(() -> StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE));
+
+    private AccessLogRecord() {
+    }
+
+    /**
+     * 把访问事件写入缓冲区指定位置，最后写入提交标记
+     */
+    static void write(ByteBuffer buffer, int offset, ShortLinkAccessEvent event) {
+        buffer.putLong(offset + TIMESTAMP_OFFSET, event.getTimestamp());
+        String[] values = {event.getFullShortUrl(), event.getGid(), event.getUv(), event.getIp(), event.getUa(), event.getReferer()};
+        CharsetEncoder encoder = ENCODER.get();
+        for (int i = 0; i < FIELDS.length; i++) {
+            writeString(buffer, offset + FIELDS[i][0], FIELDS[i][1], FIELDS[i][2], values[i], encoder);
+        }
+        INT_HANDLE.setRelease(buffer, offset, COMMITTED);
+    }
+
+    /**
+     * 读取指定位置的记录，未提交（未写完或写入时进程退出）返回 null
+     */
+    static ShortLinkAccessEvent read(ByteBuffer buffer, int offset) {
+        if ((int) INT_HANDLE.getAcquire(buffer, offset) != COMMITTED) {
+            return null;
+        }
+        String[] values = new String[FIELDS.length];
+        for (int i = 0; i < FIELDS.length; i++) {
+            values[i] = readString(buffer, offset + FIELDS[i][0], FIELDS[i][1]);
+        }
+        return ShortLinkAccessEvent.builder()
+                .timestamp(buffer.getLong(offset + TIMESTAMP_OFFSET))
+                .fullShortUrl(values[0])
+                .gid(values[1])
+                .uv(values[2])
+                .ip(values[3])
+                .ua(values[4])
+                .referer(values[5])
+                .build();
+    }
+
+    private static void writeString(ByteBuffer buffer, int offset, int prefixBytes, int capacity, String value, CharsetEncoder encoder) {
+        int length = 0;
+        if (value != null) {
+            ByteBuffer target = buffer.slice(offset + prefixBytes, capacity);
+            encoder.reset();
+            //容量不足时编码器返回 OVERFLOW 并停在最后一个完整字符之后，即按字符截断
+            encoder.encode(CharBuffer.wrap(value), target, true);
+            length = target.position() + 1;
+        }
+        //长度前缀存实际字节数加一，0 表示 null
+        if (prefixBytes == 1) {
+            buffer.put(offset, (byte) length);
+        } else {
+            buffer.putShort(offset, (short) length);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer, int offset, int prefixBytes) {
+        int length = prefixBytes == 1 ? Byte.toUnsignedInt(buffer.get(offset)) : Short.toUnsignedInt(buffer.getShort(offset));
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        buffer.get(offset + prefixBytes, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,177 @@
+package com.kkk.shortlink.project.common.accesslog;
+
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 原始访问日志段，一个内存映射的定长记录文件
+ * 写入方先登记再检查关闭标记，关闭后读取方等待登记数归零，确保已领取槽位的记录都已写完
+ */
+final class AccessLogSegment {
+
+    static final String FILE_SUFFIX = ".log";
+
+    static final String PROGRESS_SUFFIX = ".done";
+
+    /**
+     * 预分配时每次写零的字节数
+     */
+    private static final int PREALLOCATE_CHUNK_BYTES = 1024 * 1024;
+
+    private final long sequence;
+
+    private final Path file;
+
+    private final MappedByteBuffer buffer;
+
+    private final int capacity;
+
+    private final long createTime = System.currentTimeMillis();
+
+    private final AtomicInteger nextSlot;
+
+    private final AtomicInteger writers = new AtomicInteger();
+
+    private volatile boolean closed;
+
+    private AccessLogSegment(long sequence, Path file, MappedByteBuffer buffer, int capacity, int nextSlot, boolean closed) {
+        this.sequence = sequence;
+        this.file = file;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.nextSlot = new AtomicInteger(nextSlot);
+        this.closed = closed;
+    }
+
+    /**
+     * 新建日志段，映射前先为整个文件写零分配磁盘块。
+     * 稀疏文件在首次写入映射页时才分配磁盘块，磁盘写满时会在请求线程上抛出 InternalError；
+     * 预分配后磁盘空间不足在这里以 IOException 暴露，已映射的日志段写入时不再需要分配磁盘块
+     */
+    static AccessLogSegment create(Path dir, long sequence, int capacity) throws IOException {
+        Path file = dir.resolve(fileName(sequence));
+        long size = (long) capacity * AccessLogRecord.RECORD_SIZE;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            preallocate(channel, size);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new AccessLogSegment(sequence, file, buffer, capacity, 0, false);
+        } catch (IOException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+    }
+
+    private static void preallocate(FileChannel channel, long size) throws IOException {
+        ByteBuffer zeros = ByteBuffer.allocateDirect((int) Math.min(PREALLOCATE_CHUNK_BYTES, size));
+        for (long position = 0; position < size; ) {
+            zeros.clear().limit((int) Math.min(zeros.capacity(), size - position));
+            position += channel.write(zeros, position);
+        }
+    }
+
+    /**
+     * 打开上次运行遗留的日志段，视为已关闭
+     */
+    static AccessLogSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int capacity = (int) (channel.size() / AccessLogRecord.RECORD_SIZE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, (long) capacity * AccessLogRecord.RECORD_SIZE);
+            return new AccessLogSegment(parseSequence(file), file, buffer, capacity, capacity, true);
+        }
+    }
+
+    static String fileName(long sequence) {
+        return String.format("access-%019d%s", sequence, FILE_SUFFIX);
+    }
+
+    static long parseSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring("access-".length(), name.length() - FILE_SUFFIX.length()));
+    }
+
+    /**
+     * 追加一条记录
+     *
+     * @return 日志段已关闭或已写满返回 false，需切换到新日志段
+     */
+    boolean append(ShortLinkAccessEvent event) {
+        writers.incrementAndGet();
+        try {
+            if (closed) {
+                return false;
+            }
+            int slot = nextSlot.getAndIncrement();
+            if (slot >= capacity) {
+                return false;
+            }
+            AccessLogRecord.write(buffer, slot * AccessLogRecord.RECORD_SIZE, event);
+            return true;
+        } finally {
+            writers.decrementAndGet();
+        }
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * 已关闭且没有写入中的记录，可以加载入库
+     */
+    boolean isSealed() {
+        return closed && writers.get() == 0;
+    }
+
+    boolean isEmpty() {
+        return nextSlot.get() == 0;
+    }
+
+    /**
+     * 读取全部已提交的记录，跳过未写完的槽位
+     */
+    List<ShortLinkAccessEvent> readAll() {
+        int slots = Math.min(nextSlot.get(), capacity);
+        List<ShortLinkAccessEvent> events = new ArrayList<>(slots);
+        for (int slot = 0; slot < slots; slot++) {
+            ShortLinkAccessEvent event = AccessLogRecord.read(buffer, slot * AccessLogRecord.RECORD_SIZE);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    Path getProgressFile() {
+        return file.resolveSibling(file.getFileName().toString().replace(FILE_SUFFIX, PROGRESS_SUFFIX));
+    }
+
+    long getCreateTime() {
+        return createTime;
+    }
+
+    /**
+     * 删除日志段及加载进度文件，映射缓冲区随 GC 释放
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(getProgressFile());
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,148 @@
+package com.kkk.shortlink.project.common.accesslog;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessEvent;
+import com.kkk.shortlink.project.config.AccessLogProperties;
+import com.kkk.shortlink.project.dao.entity.LinkAccessLogDO;
+import com.kkk.shortlink.project.service.LinkAccessLogService;
+import com.kkk.shortlink.project.toolkit.LinkShardingUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 短链接原始访问日志加载
+ * 按写入顺序逐个加载已关闭的日志段：记录按 gid 所在分表分组，每个分表一次多行批量插入（驱动开启 rewriteBatchedStatements），
+ * 每个分表写入成功后在进度文件中登记，加载中断后重试只补写未完成的分表，全部完成后删除日志段。
+ * 数据库异常时停在当前日志段，后续日志段在磁盘上排队
+ */
+@Slf4j
+@Component
+public class ShortLinkAccessLogLoader implements InitializingBean, DisposableBean {
+
+    private final ShortLinkAccessLogWriter shortLinkAccessLogWriter;
+
+    private final LinkAccessLogService linkAccessLogService;
+
+    private final AccessLogProperties accessLogProperties;
+
+    private final ScheduledExecutorService loadExecutor = Executors.newSingleThreadScheduledExecutor(
+            ThreadFactoryBuilder.create().setNamePrefix("short-link-access-log-loader-").setDaemon(true).build()
+    );
+
+    private final Timer loadTimer;
+
+    private final Counter loadedCounter;
+
+    public ShortLinkAccessLogLoader(ShortLinkAccessLogWriter shortLinkAccessLogWriter,
+                                    LinkAccessLogService linkAccessLogService,
+                                    AccessLogProperties accessLogProperties,
+                                    MeterRegistry meterRegistry) {
+        this.shortLinkAccessLogWriter = shortLinkAccessLogWriter;
+        this.linkAccessLogService = linkAccessLogService;
+        this.accessLogProperties = accessLogProperties;
+        this.loadTimer = Timer.builder("short-link.access-log.load")
+                .description("单个日志段加载入库耗时")
+                .register(meterRegistry);
+        this.loadedCounter = Counter.builder("short-link.access-log.loaded")
+                .description("加载入库的原始访问记录数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!accessLogProperties.getEnabled()) {
+            return;
+        }
+        long intervalMillis = accessLogProperties.getLoadInterval().toMillis();
+        loadExecutor.scheduleWithFixedDelay(this::loadQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void loadQuietly() {
+        try {
+            load();
+        } catch (Exception ex) {
+            log.error("原始访问日志加载失败，日志段保留到下次加载，积压日志段数：{}", shortLinkAccessLogWriter.closedSegments().size(), ex);
+        }
+    }
+
+    /**
+     * 加载全部已封存的日志段，只在加载线程中执行；加载完成后为写入方预建下一个日志段
+     */
+    void load() throws IOException {
+        shortLinkAccessLogWriter.rollIfExpired();
+        AccessLogSegment segment;
+        while ((segment = shortLinkAccessLogWriter.closedSegments().peekFirst()) != null && segment.isSealed()) {
+            long start = System.nanoTime();
+            loadSegment(segment);
+            segment.delete();
+            shortLinkAccessLogWriter.closedSegments().pollFirst();
+            loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        shortLinkAccessLogWriter.prepareSpare();
+    }
+
+    private void loadSegment(AccessLogSegment segment) throws IOException {
+        Path progressFile = segment.getProgressFile();
+        Set<Integer> loadedShards = new HashSet<>();
+        if (Files.exists(progressFile)) {
+            Files.readAllLines(progressFile, StandardCharsets.UTF_8).stream()
+                    .filter(each -> !each.isBlank())
+                    .forEach(each -> loadedShards.add(Integer.parseInt(each.trim())));
+        }
+        Map<Integer, List<LinkAccessLogDO>> shardLogs = new TreeMap<>();
+        for (ShortLinkAccessEvent event : segment.readAll()) {
+            if (event.getGid() == null) {
+                continue;
+            }
+            shardLogs.computeIfAbsent(LinkShardingUtil.tableIndex(event.getGid()), key -> new ArrayList<>()).add(toLinkAccessLog(event));
+        }
+        for (Map.Entry<Integer, List<LinkAccessLogDO>> entry : shardLogs.entrySet()) {
+            if (loadedShards.contains(entry.getKey())) {
+                continue;
+            }
+            linkAccessLogService.saveBatch(entry.getValue(), accessLogProperties.getBatchSize());
+            Files.writeString(progressFile, entry.getKey() + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+            loadedCounter.increment(entry.getValue().size());
+        }
+    }
+
+    private static LinkAccessLogDO toLinkAccessLog(ShortLinkAccessEvent event) {
+        return LinkAccessLogDO.builder()
+                .gid(event.getGid())
+                .fullShortUrl(event.getFullShortUrl())
+                .uv(event.getUv())
+                .ip(event.getIp())
+                .userAgent(event.getUa())
+                .referer(event.getReferer())
+                .accessTime(new Date(event.getTimestamp()))
+                .build();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        loadExecutor.shutdown();
+        loadExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,179 @@
+package com.kkk.shortlink.project.common.accesslog;
+
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessEvent;
+import com.kkk.shortlink.project.config.AccessLogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.stream.Stream;
+
+/**
+ * 短链接原始访问日志写入
+ * 跳转请求线程把访问记录写入内存映射的定长日志段，只是一次内存拷贝，不产生网络或数据库调用；
+ * 日志段写满或超过最长写入时间后关闭，由 {@link ShortLinkAccessLogLoader} 批量加载入库后删除。
+ * 日志段创建时预分配磁盘块，下一个日志段由加载线程提前创建，切换时请求线程不写磁盘。
+ * 数据库变慢时已关闭的日志段在磁盘上堆积，积压达到上限后停止写入并计数丢弃的记录，避免写满磁盘；进程重启后遗留的日志段继续加载
+ */
+@Slf4j
+@Component
+public class ShortLinkAccessLogWriter implements InitializingBean, DisposableBean {
+
+    private final AccessLogProperties accessLogProperties;
+
+    private final Deque<AccessLogSegment> closedSegments = new ConcurrentLinkedDeque<>();
+
+    private final Counter appendedCounter;
+
+    private final Counter appendFailedCounter;
+
+    private final Counter droppedCounter;
+
+    private Path dir;
+
+    private long nextSequence;
+
+    private volatile AccessLogSegment current;
+
+    /**
+     * 提前创建的下一个日志段
+     */
+    private AccessLogSegment spare;
+
+    public ShortLinkAccessLogWriter(AccessLogProperties accessLogProperties, MeterRegistry meterRegistry) {
+        this.accessLogProperties = accessLogProperties;
+        this.appendedCounter = Counter.builder("short-link.access-log.appended")
+                .description("写入原始访问日志的记录数")
+                .register(meterRegistry);
+        this.appendFailedCounter = Counter.builder("short-link.access-log.append-failed")
+                .description("写入原始访问日志失败的记录数")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("short-link.access-log.dropped")
+                .description("积压日志段达到上限时丢弃的记录数")
+                .register(meterRegistry);
+        Gauge.builder("short-link.access-log.backlog-segments", closedSegments, Deque::size)
+                .description("已关闭待加载的日志段数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (!accessLogProperties.getEnabled()) {
+            return;
+        }
+        dir = Paths.get(accessLogProperties.getDir());
+        Files.createDirectories(dir);
+        List<Path> leftovers;
+        try (Stream<Path> files = Files.list(dir)) {
+            leftovers = files.filter(each -> each.getFileName().toString().endsWith(AccessLogSegment.FILE_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path leftover : leftovers) {
+            AccessLogSegment segment = AccessLogSegment.open(leftover);
+            closedSegments.add(segment);
+            nextSequence = Math.max(nextSequence, segment.getSequence() + 1);
+        }
+        if (!leftovers.isEmpty()) {
+            log.info("发现 {} 个未加载的原始访问日志段", leftovers.size());
+        }
+        current = AccessLogSegment.create(dir, nextSequence++, accessLogProperties.getSegmentRecords());
+    }
+
+    /**
+     * 追加一条访问记录，未开启时忽略；当前日志段已满且积压日志段达到上限时丢弃
+     */
+    public void append(ShortLinkAccessEvent event) {
+        AccessLogSegment segment = current;
+        if (segment == null) {
+            return;
+        }
+        try {
+            while (!segment.append(event)) {
+                if (closedSegments.size() >= accessLogProperties.getMaxBacklogSegments()) {
+                    droppedCounter.increment();
+                    return;
+                }
+                segment = roll(segment);
+            }
+            appendedCounter.increment();
+        } catch (Exception | InternalError ex) {
+            //映射内存访问出错（如磁盘写满、文件被截断）时 JVM 抛出 InternalError，同样只计数不影响跳转
+            appendFailedCounter.increment();
+            log.warn("写入原始访问日志失败，完整短链接：{}", event.getFullShortUrl(), ex);
+        }
+    }
+
+    /**
+     * 关闭指定日志段并切换到新日志段，其他线程已完成切换时直接返回当前日志段
+     */
+    private synchronized AccessLogSegment roll(AccessLogSegment segment) throws IOException {
+        if (current == segment) {
+            //先取得新日志段，磁盘异常时保留原日志段，不影响已写入的记录；没有提前创建的日志段时在当前线程创建
+            AccessLogSegment next = spare != null ? spare : AccessLogSegment.create(dir, nextSequence++, accessLogProperties.getSegmentRecords());
+            spare = null;
+            segment.close();
+            closedSegments.add(segment);
+            current = next;
+        }
+        return current;
+    }
+
+    /**
+     * 提前创建并预分配下一个日志段，只在加载线程中调用
+     */
+    synchronized void prepareSpare() throws IOException {
+        if (current != null && spare == null) {
+            spare = AccessLogSegment.create(dir, nextSequence++, accessLogProperties.getSegmentRecords());
+        }
+    }
+
+    /**
+     * 当前日志段非空且超过最长写入时间时关闭，低流量时记录也能按时加载
+     */
+    void rollIfExpired() throws IOException {
+        AccessLogSegment segment = current;
+        if (segment != null && !segment.isEmpty()
+                && System.currentTimeMillis() - segment.getCreateTime() >= accessLogProperties.getMaxSegmentAge().toMillis()) {
+            roll(segment);
+        }
+    }
+
+    /**
+     * 已关闭的日志段，按写入顺序排列
+     */
+    Deque<AccessLogSegment> closedSegments() {
+        return closedSegments;
+    }
+
+    /**
+     * 停机时关闭当前日志段，空日志段与未使用的预建日志段直接删除，其余留待下次启动加载
+     */
+    @Override
+    public synchronized void destroy() throws IOException {
+        if (spare != null) {
+            spare.delete();
+            spare = null;
+        }
+        AccessLogSegment segment = current;
+        if (segment == null) {
+            return;
+        }
+        current = null;
+        segment.close();
+        if (segment.isEmpty()) {
+            segment.delete();
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.kkk.shortlink.project.common.bloom;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import com.kkk.shortlink.project.config.BloomFilterMirrorProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.StatusListener;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.BLOOM_FILTER_ADDED_TOPIC;
+
+/**
+ * 短链接布隆过滤器本地镜像
+ * 启动时按块 GETRANGE 全量拉取 Redis 位图，之后订阅新增通知增量置位，并定期全量同步修复订阅断开期间丢失的消息。
+ * 布隆过滤器只增不删，同步只做按位或，镜像的位始终是 Redis 位图的子集：本地判定不存在时 Redis 也大概率不存在，
+ * 创建短链接判重时本地不存在即可直接使用，本地存在时再查 Redis 确认。
+ * 镜像可能短暂落后于 Redis，漏判由 t_link_goto 唯一索引兜底，因此只用于创建判重，不用于跳转拦截
+ */
+@Slf4j
+@Component
+public class LocalBloomFilterMirror implements InitializingBean, DisposableBean {
+
+    private static final String MESSAGE_SEPARATOR = "\n";
+
+    private final RedissonClient redissonClient;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final RedissonBloomFilterBatch redissonBloomFilterBatch;
+
+    private final RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter;
+
+    private final BloomFilterMirrorProperties bloomFilterMirrorProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 位布局与 Redis 位图一致：第 i 位位于第 i / 64 个 long，按大端排列，掩码为 Long.MIN_VALUE >>> (i % 64)
+     */
+    private volatile AtomicLongArray bits;
+
+    private volatile boolean ready;
+
+    private final AtomicLong bitCount = new AtomicLong();
+
+    private long size;
+
+    private int hashIterations;
+
+    private RTopic topic;
+
+    private ScheduledExecutorService syncExecutor;
+
+    private final Counter localNegativeCounter;
+
+    private final Counter remotePositiveCounter;
+
+    private final Counter remoteNegativeCounter;
+
+    private final Counter notReadyCounter;
+
+    private final Timer syncLagTimer;
+
+    private final Timer resyncTimer;
+
+    public LocalBloomFilterMirror(RedissonClient redissonClient,
+                                  StringRedisTemplate stringRedisTemplate,
+                                  RedissonBloomFilterBatch redissonBloomFilterBatch,
+                                  RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter,
+                                  BloomFilterMirrorProperties bloomFilterMirrorProperties,
+                                  MeterRegistry meterRegistry) {
+        this.redissonClient = redissonClient;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redissonBloomFilterBatch = redissonBloomFilterBatch;
+        this.shortUriCreateCachePenetrationBloomFilter = shortUriCreateCachePenetrationBloomFilter;
+        this.bloomFilterMirrorProperties = bloomFilterMirrorProperties;
+        this.meterRegistry = meterRegistry;
+        this.localNegativeCounter = checkCounter("local-negative");
+        this.remotePositiveCounter = checkCounter("remote-positive");
+        this.remoteNegativeCounter = checkCounter("remote-negative");
+        this.notReadyCounter = checkCounter("not-ready");
+        this.syncLagTimer = Timer.builder("short-link.bloom-filter.mirror.sync.lag")
+                .description("新增通知从发布到本地置位的延迟")
+                .register(meterRegistry);
+        this.resyncTimer = Timer.builder("short-link.bloom-filter.mirror.resync")
+                .description("全量同步耗时")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!bloomFilterMirrorProperties.getEnabled()) {
+            return;
+        }
+        size = redissonBloomFilterBatch.size();
+        hashIterations = redissonBloomFilterBatch.hashIterations();
+        bits = new AtomicLongArray((int) ((size + 63) >>> 6));
+        registerGauges();
+        //先订阅再全量同步，同步期间新增的位不会丢失
+        topic = redissonClient.getTopic(BLOOM_FILTER_ADDED_TOPIC, StringCodec.INSTANCE);
+        topic.addListener(String.class, (channel, message) -> onAdded(message));
+        topic.addListener(new StatusListener() {
+            @Override
+            public void onSubscribe(String channel) {
+                //断线重连后重新订阅，期间的增量消息已丢失，补一次全量同步
+                if (ready) {
+                    syncExecutor.execute(LocalBloomFilterMirror.this::resync);
+                }
+            }
+
+            @Override
+            public void onUnsubscribe(String channel) {
+            }
+        });
+        syncExecutor = Executors.newSingleThreadScheduledExecutor(
+                ThreadFactoryBuilder.create().setNamePrefix("bloom-filter-mirror-sync-").setDaemon(true).build()
+        );
+        long resyncMillis = bloomFilterMirrorProperties.getResyncInterval().toMillis();
+        syncExecutor.scheduleWithFixedDelay(this::resync, 0, resyncMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 创建判重：本地不存在直接返回，本地存在或镜像尚未就绪时查询 Redis
+     */
+    public boolean contains(String fullShortUrl) {
+        if (ready && !containsLocal(fullShortUrl)) {
+            localNegativeCounter.increment();
+            return false;
+        }
+        return countRemote(shortUriCreateCachePenetrationBloomFilter.contains(fullShortUrl));
+    }
+
+    /**
+     * 批量创建判重，只有本地存在的元素进入 Redis 批量查询
+     *
+     * @return 与入参顺序一致
+     */
+    public List<Boolean> containsAll(List<String> fullShortUrls) {
+        if (!ready) {
+            List<Boolean> exists = redissonBloomFilterBatch.containsAll(fullShortUrls);
+            exists.forEach(this::countRemote);
+            return exists;
+        }
+        Boolean[] result = new Boolean[fullShortUrls.size()];
+        List<Integer> remoteIndexes = new ArrayList<>();
+        List<String> remoteFullShortUrls = new ArrayList<>();
+        for (int i = 0; i < fullShortUrls.size(); i++) {
+            if (containsLocal(fullShortUrls.get(i))) {
+                remoteIndexes.add(i);
+                remoteFullShortUrls.add(fullShortUrls.get(i));
+            } else {
+                localNegativeCounter.increment();
+                result[i] = Boolean.FALSE;
+            }
+        }
+        List<Boolean> remoteExists = redissonBloomFilterBatch.containsAll(remoteFullShortUrls);
+        for (int i = 0; i < remoteIndexes.size(); i++) {
+            result[remoteIndexes.get(i)] = countRemote(remoteExists.get(i));
+        }
+        return Arrays.asList(result);
+    }
+
+    /**
+     * 镜像是否已完成首次全量同步
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    private boolean containsLocal(String fullShortUrl) {
+        AtomicLongArray currentBits = bits;
+        for (long index : redissonBloomFilterBatch.indexes(fullShortUrl)) {
+            if ((currentBits.get((int) (index >>> 6)) & (Long.MIN_VALUE >>> (index & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean countRemote(boolean exists) {
+        if (!ready) {
+            notReadyCounter.increment();
+        } else if (exists) {
+            remotePositiveCounter.increment();
+        } else {
+            //本地存在而 Redis 不存在，说明镜像比 Redis 多出了位，例如 Redis 位图被重建
+            remoteNegativeCounter.increment();
+        }
+        return exists;
+    }
+
+    private void onAdded(String message) {
+        int separatorIndex = message.indexOf(MESSAGE_SEPARATOR);
+        if (separatorIndex < 0) {
+            return;
+        }
+        long publishTime = Long.parseLong(message.substring(0, separatorIndex));
+        for (String fullShortUrl : message.substring(separatorIndex + 1).split(MESSAGE_SEPARATOR)) {
+            for (long index : redissonBloomFilterBatch.indexes(fullShortUrl)) {
+                or((int) (index >>> 6), Long.MIN_VALUE >>> (index & 63));
+            }
+        }
+        syncLagTimer.record(Math.max(0, System.currentTimeMillis() - publishTime), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 分块读取 Redis 位图并按位或合并到本地，位图长度只到最高置位所在字节，读到不足一块即结束
+     */
+    private void resync() {
+        long start = System.nanoTime();
+        try {
+            byte[] key = redissonBloomFilterBatch.name().getBytes(StandardCharsets.UTF_8);
+            int chunkBytes = bloomFilterMirrorProperties.getBootstrapChunkBytes() & ~7;
+            long totalBytes = (long) bits.length() << 3;
+            for (long offset = 0; offset < totalBytes; offset += chunkBytes) {
+                long from = offset;
+                long to = Math.min(offset + chunkBytes, totalBytes) - 1;
+                byte[] chunk = stringRedisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().getRange(key, from, to));
+                if (chunk == null || chunk.length == 0) {
+                    break;
+                }
+                mergeChunk((int) (offset >>> 3), chunk);
+                if (chunk.length < to - from + 1) {
+                    break;
+                }
+            }
+            ready = true;
+            resyncTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (Exception ex) {
+            log.warn("布隆过滤器本地镜像全量同步失败", ex);
+        }
+    }
+
+    private void mergeChunk(int firstWord, byte[] chunk) {
+        ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(chunk, (chunk.length + 7) & ~7));
+        for (int i = 0; buffer.hasRemaining(); i++) {
+            long word = buffer.getLong();
+            if (word != 0) {
+                or(firstWord + i, word);
+            }
+        }
+    }
+
+    private void or(int wordIndex, long mask) {
+        long previous = bits.getAndAccumulate(wordIndex, mask, (left, right) -> left | right);
+        long added = Long.bitCount(mask & ~previous);
+        if (added > 0) {
+            bitCount.addAndGet(added);
+        }
+    }
+
+    private void registerGauges() {
+        Gauge.builder("short-link.bloom-filter.mirror.memory", this, each -> each.bits.length() * 8.0)
+                .description("布隆过滤器本地镜像占用内存")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("short-link.bloom-filter.mirror.fill-ratio", this, each -> (double) each.bitCount.get() / each.size)
+                .description("布隆过滤器本地镜像置位比例")
+                .register(meterRegistry);
+        Gauge.builder("short-link.bloom-filter.mirror.false-positive-rate", this,
+                        each -> Math.pow((double) each.bitCount.get() / each.size, each.hashIterations))
+                .description("按置位比例估算的误判率")
+                .register(meterRegistry);
+        Gauge.builder("short-link.bloom-filter.mirror.ready", this, each -> each.ready ? 1 : 0)
+                .description("布隆过滤器本地镜像是否完成首次全量同步")
+                .register(meterRegistry);
+    }
+
+    private Counter checkCounter(String result) {
+        return Counter.builder("short-link.bloom-filter.mirror.check")
+                .description("创建判重结果：本地判定不存在、本地存在且 Redis 存在、本地存在但 Redis 不存在、镜像未就绪")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        if (topic != null) {
+            topic.removeAllListeners();
+        }
+        if (syncExecutor != null) {
+            syncExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 新增通知格式：发布时间戳，后跟以换行分隔的完整短链接
+     */
+    static String encodeAddedMessage(long publishTime, Collection<String> fullShortUrls) {
+        return publishTime + MESSAGE_SEPARATOR + String.join(MESSAGE_SEPARATOR, fullShortUrls);
+    }
+}
@@ -0,0 +1,151 @@
+package com.kkk.shortlink.project.common.bloom;
+
+import io.netty.buffer.ByteBuf;
+import lombok.SneakyThrows;
+import org.redisson.api.BatchResult;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBitSetAsync;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.misc.Hash;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.BLOOM_FILTER_ADDED_TOPIC;
+
+/**
+ * 布隆过滤器批量操作
+ * RBloomFilter 每次 add / contains 都是一次往返，批量创建短链接时改为在本地按 Redisson 相同的编码与哈希算法计算位下标，
+ * 所有元素的 SETBIT / GETBIT 合并到一个 RBatch 管道中执行，与 RBloomFilter 读写的是同一个位图，两者结果一致。
+ * 新增元素时在同一管道中发布通知，供各节点的 {@link LocalBloomFilterMirror} 同步置位
+ */
+@Component
+public class RedissonBloomFilterBatch {
+
+    private final RedissonClient redissonClient;
+
+    private final RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter;
+
+    private final Codec codec;
+
+    /**
+     * 位图大小与哈希次数在 tryInit 后不再变化，首次使用时读取一次
+     */
+    private volatile long size;
+
+    private volatile int hashIterations;
+
+    public RedissonBloomFilterBatch(RedissonClient redissonClient, RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter) {
+        this.redissonClient = redissonClient;
+        this.shortUriCreateCachePenetrationBloomFilter = shortUriCreateCachePenetrationBloomFilter;
+        this.codec = redissonClient.getConfig().getCodec();
+    }
+
+    /**
+     * 批量添加元素并发布新增通知，一次管道往返
+     */
+    public void addAll(Collection<String> objects) {
+        if (objects.isEmpty()) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch();
+        RBitSetAsync bitSet = batch.getBitSet(shortUriCreateCachePenetrationBloomFilter.getName());
+        for (String object : objects) {
+            for (long index : indexes(object)) {
+                bitSet.setAsync(index);
+            }
+        }
+        batch.getTopic(BLOOM_FILTER_ADDED_TOPIC, StringCodec.INSTANCE)
+                .publishAsync(LocalBloomFilterMirror.encodeAddedMessage(System.currentTimeMillis(), objects));
+        batch.execute();
+    }
+
+    /**
+     * 批量判断元素是否可能存在，一次管道往返
+     *
+     * @return 与入参顺序一致，false 表示一定不存在
+     */
+    public List<Boolean> containsAll(List<String> objects) {
+        List<Boolean> result = new ArrayList<>(objects.size());
+        if (objects.isEmpty()) {
+            return result;
+        }
+        RBatch batch = redissonClient.createBatch();
+        RBitSetAsync bitSet = batch.getBitSet(shortUriCreateCachePenetrationBloomFilter.getName());
+        for (String object : objects) {
+            for (long index : indexes(object)) {
+                bitSet.getAsync(index);
+            }
+        }
+        BatchResult<?> batchResult = batch.execute();
+        List<?> responses = batchResult.getResponses();
+        int iterations = hashIterations;
+        for (int i = 0; i < objects.size(); i++) {
+            boolean contains = true;
+            for (int j = i * iterations; j < (i + 1) * iterations && contains; j++) {
+                contains = Boolean.TRUE.equals(responses.get(j));
+            }
+            result.add(contains);
+        }
+        return result;
+    }
+
+    /**
+     * 与 RedissonBloomFilter 一致：编码器序列化后做 128 位 HighwayHash，双重哈希生成各位下标
+     */
+    @SneakyThrows
+    long[] indexes(String object) {
+        ensureConfig();
+        ByteBuf state = codec.getValueEncoder().encode(object);
+        long[] hashes;
+        try {
+            hashes = Hash.hash128(state);
+        } finally {
+            state.release();
+        }
+        return indexes(hashes[0], hashes[1], hashIterations, size);
+    }
+
+    static long[] indexes(long hash1, long hash2, int iterations, long size) {
+        long[] indexes = new long[iterations];
+        long hash = hash1;
+        for (int i = 0; i < iterations; i++) {
+            indexes[i] = (hash & Long.MAX_VALUE) % size;
+            if (i % 2 == 0) {
+                hash += hash2;
+            } else {
+                hash += hash1;
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * 位图名称，即 Redis Key
+     */
+    String name() {
+        return shortUriCreateCachePenetrationBloomFilter.getName();
+    }
+
+    long size() {
+        ensureConfig();
+        return size;
+    }
+
+    int hashIterations() {
+        ensureConfig();
+        return hashIterations;
+    }
+
+    private void ensureConfig() {
+        if (size == 0) {
+            hashIterations = shortUriCreateCachePenetrationBloomFilter.getHashIterations();
+            size = shortUriCreateCachePenetrationBloomFilter.getSize();
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.kkk.shortlink.project.common.cache;
+
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.kkk.shortlink.project.config.LinkCountProperties;
+import com.kkk.shortlink.project.dao.entity.ShortLinkDO;
+import com.kkk.shortlink.project.dao.mapper.ShortLinkMapper;
+import com.kkk.shortlink.project.toolkit.LinkShardingUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.LINK_COUNT_KEY;
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.LOCK_LINK_COUNT_RECONCILE_KEY;
+
+/**
+ * 分组启用中的短链接数缓存
+ * 计数保存在 Redis，创建等变更在事务提交后累加，分页查询直接读取计数，不再每次对分表执行 COUNT(*)；
+ * 计数不存在时从数据库统计一次后回填，累加只作用于已存在的计数，缺失的计数不会被增量写成错误的初值。
+ * 回填与并发变更之间仍可能出现少量偏差，由定时对账按分表批量统计后以比较并设置的方式修正。
+ * 事务提交与提交后的累加之间有时间差，单次对账无论先读哪一边都可能把正在途中的变更当成偏差，
+ * 因此同一分组连续两次对账看到相同的计数与统计值时才修正
+ */
+@Slf4j
+@Component
+public class ShortLinkCountCache implements InitializingBean, DisposableBean {
+
+    /**
+     * 参数：增量、有效期毫秒数；计数不存在时不累加
+     */
+    private static final String ADD_IF_EXISTS_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                redis.call('INCRBY', KEYS[1], ARGV[1])
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """;
+
+    /**
+     * 参数：期望的当前值、修正值、有效期毫秒数；当前值与期望不一致说明对账期间有新的变更，跳过本次修正
+     */
+    private static final String COMPARE_AND_SET_SCRIPT = """
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+                return 1
+            end
+            return 0
+            """;
+
+    private final RedissonClient redissonClient;
+
+    private final ShortLinkMapper shortLinkMapper;
+
+    private final LinkCountProperties linkCountProperties;
+
+    private final Counter reconcileCorrectedCounter;
+
+    /**
+     * 上次对账发现不一致的分组：分组标识 -> 计数与统计值，只在持有对账锁的线程中读写
+     */
+    private Map<String, String> suspects = new HashMap<>();
+
+    private final ScheduledExecutorService reconcileExecutor = Executors.newSingleThreadScheduledExecutor(
+            ThreadFactoryBuilder.create().setNamePrefix("short-link-count-reconcile-").setDaemon(true).build()
+    );
+
+    public ShortLinkCountCache(RedissonClient redissonClient,
+                               ShortLinkMapper shortLinkMapper,
+                               LinkCountProperties linkCountProperties,
+                               MeterRegistry meterRegistry) {
+        this.redissonClient = redissonClient;
+        this.shortLinkMapper = shortLinkMapper;
+        this.linkCountProperties = linkCountProperties;
+        this.reconcileCorrectedCounter = Counter.builder("short-link.link-count.reconcile.corrected")
+                .description("对账修正的分组短链接数计数个数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!linkCountProperties.getReconcileEnabled()) {
+            return;
+        }
+        reconcileExecutor.scheduleWithFixedDelay(this::reconcileQuietly,
+                linkCountProperties.getReconcileInitialDelay().toMillis(),
+                linkCountProperties.getReconcileInterval().toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 查询分组启用中的短链接数，计数不存在时从数据库统计并回填，Redis 不可用时直接查询数据库
+     *
+     * @param gid 分组标识
+     */
+    public long get(String gid) {
+        RBucket<String> bucket = redissonClient.getBucket(String.format(LINK_COUNT_KEY, gid), StringCodec.INSTANCE);
+        try {
+            String cached = bucket.get();
+            if (cached != null) {
+                return Long.parseLong(cached);
+            }
+            long count = countFromDatabase(gid);
+            if (bucket.setIfAbsent(String.valueOf(count), linkCountProperties.getRedisTimeToLive())) {
+                return count;
+            }
+            cached = bucket.get();
+            return cached == null ? count : Long.parseLong(cached);
+        } catch (RedisException ex) {
+            log.warn("分组短链接数读取 Redis 失败，改为查询数据库，分组：{}", gid, ex);
+            return countFromDatabase(gid);
+        }
+    }
+
+    /**
+     * 批量查询多个分组启用中的短链接数，一次批量读取 Redis，计数不存在的分组逐个统计并回填
+     *
+     * @param gids 分组标识
+     * @return 分组标识 -> 短链接数
+     */
+    public Map<String, Long> getAll(Collection<? extends String> gids) {
+        Map<String, Long> result = new HashMap<>();
+        try {
+            Map<String, String> cached = redissonClient.getBuckets(StringCodec.INSTANCE)
+                    .get(gids.stream().map(each -> String.format(LINK_COUNT_KEY, each)).toArray(String[]::new));
+            for (String gid : gids) {
+                String count = cached.get(String.format(LINK_COUNT_KEY, gid));
+                if (count != null) {
+                    result.put(gid, Long.parseLong(count));
+                }
+            }
+        } catch (RedisException ex) {
+            log.warn("分组短链接数批量读取 Redis 失败，改为逐个查询，分组数：{}", gids.size(), ex);
+        }
+        gids.forEach(each -> result.computeIfAbsent(each, this::get));
+        return result;
+    }
+
+    /**
+     * 在当前事务提交后累加分组短链接数，没有事务时立即累加；删除、停用时传入负数
+     *
+     * @param gid   分组标识
+     * @param delta 变化量
+     */
+    public void addAfterCommit(String gid, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addQuietly(gid, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                addQuietly(gid, delta);
+            }
+        });
+    }
+
+    /**
+     * 累加多个分组的短链接数，用于批量创建等已提交的批量变更
+     *
+     * @param deltas 分组标识 -> 变化量
+     */
+    public void addAll(Map<String, Long> deltas) {
+        deltas.forEach(this::addQuietly);
+    }
+
+    /**
+     * 累加失败只记录日志，偏差由对账修正
+     */
+    private void addQuietly(String gid, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        try {
+            redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                    ADD_IF_EXISTS_SCRIPT, RScript.ReturnType.INTEGER, List.of(String.format(LINK_COUNT_KEY, gid)),
+                    String.valueOf(delta), String.valueOf(linkCountProperties.getRedisTimeToLive().toMillis()));
+        } catch (RedisException ex) {
+            log.error("分组短链接数累加失败，等待对账修正，分组：{}，变化量：{}", gid, delta, ex);
+        }
+    }
+
+    private long countFromDatabase(String gid) {
+        return shortLinkMapper.selectCount(Wrappers.lambdaQuery(ShortLinkDO.class)
+                .eq(ShortLinkDO::getGid, gid)
+                .eq(ShortLinkDO::getEnableStatus, 0)
+                .eq(ShortLinkDO::getDelFlag, 0));
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (Exception ex) {
+            log.error("分组短链接数对账失败，下次执行时继续", ex);
+        }
+    }
+
+    /**
+     * 对账 Redis 中已有的计数：按分表分组，每批先按分组统计数据库再读取计数，
+     * 连续两次对账不一致且计数与统计值都没有变化的分组才修正，修正时只修改读取后未被改动的计数
+     */
+    void reconcile() {
+        RLock lock = redissonClient.getLock(LOCK_LINK_COUNT_RECONCILE_KEY);
+        if (!lock.tryLock()) {
+            log.info("其他节点正在执行分组短链接数对账，本次跳过");
+            return;
+        }
+        try {
+            String keyPrefix = String.format(LINK_COUNT_KEY, "");
+            Map<Integer, List<String>> shardGids = new TreeMap<>();
+            redissonClient.getKeys().getKeysStreamByPattern(keyPrefix + "*", linkCountProperties.getReconcileGidBatchSize())
+                    .map(each -> each.substring(keyPrefix.length()))
+                    .forEach(each -> shardGids.computeIfAbsent(LinkShardingUtil.tableIndex(each), key -> new ArrayList<>()).add(each));
+            Map<String, String> nextSuspects = new HashMap<>();
+            long corrected = 0;
+            for (List<String> gids : shardGids.values()) {
+                for (List<String> batch : ListUtil.partition(gids, linkCountProperties.getReconcileGidBatchSize())) {
+                    corrected += reconcile(batch, nextSuspects);
+                }
+            }
+            suspects = nextSuspects;
+            reconcileCorrectedCounter.increment(corrected);
+            if (corrected > 0 || !nextSuspects.isEmpty()) {
+                log.warn("分组短链接数对账完成，修正计数：{}，待下次确认：{}", corrected, nextSuspects.size());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int reconcile(List<String> gids, Map<String, String> nextSuspects) {
+        Map<String, Integer> actual = new HashMap<>();
+        shortLinkMapper.listGroupLinkCount(gids).forEach(each -> actual.put(each.getGid(), each.getShortLinkCount()));
+        Map<String, String> cached = redissonClient.getBuckets(StringCodec.INSTANCE)
+                .get(gids.stream().map(each -> String.format(LINK_COUNT_KEY, each)).toArray(String[]::new));
+        int corrected = 0;
+        for (String gid : gids) {
+            String key = String.format(LINK_COUNT_KEY, gid);
+            String expected = cached.get(key);
+            String count = String.valueOf(actual.getOrDefault(gid, 0));
+            if (expected == null || expected.equals(count)) {
+                continue;
+            }
+            String observed = expected + ":" + count;
+            if (!observed.equals(suspects.get(gid))) {
+                //首次发现或与上次不同，可能是提交后尚未累加的变更，下次对账再确认
+                nextSuspects.put(gid, observed);
+                continue;
+            }
+            Long updated = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                    COMPARE_AND_SET_SCRIPT, RScript.ReturnType.INTEGER, List.of(key),
+                    expected, count, String.valueOf(linkCountProperties.getRedisTimeToLive().toMillis()));
+            if (updated != null && updated == 1L) {
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        reconcileExecutor.shutdown();
+        reconcileExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,242 @@
+package com.kkk.shortlink.project.common.cache;
+
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.fastjson2.JSON;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kkk.shortlink.project.common.stats.ShortLinkHotTracker;
+import com.kkk.shortlink.project.config.GotoCacheProperties;
+import com.kkk.shortlink.project.toolkit.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY;
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.LOCK_GOTO_SHORT_LINK_KEY;
+
+/**
+ * 短链接跳转两级缓存
+ * 一级为进程内有界缓存，二级为 Redis，均未命中时回源数据库并回填两级缓存
+ * 不存在的短链接先经布隆过滤器拦截，确认不存在的再写入短有效期的空值缓存，避免扫描随机短链接打到数据库
+ * 缓存重建时同一短链接在单个 JVM 内只有一个线程回源，可选通过分布式锁合并多个节点的回源
+ * 本地缓存按权重淘汰，{@link ShortLinkHotTracker} 统计的热点短链接以零权重写入，不会因容量不足被淘汰
+ */
+@Component
+public class ShortLinkGotoCache {
+
+    private static final String NULL_VALUE = "-";
+
+    /**
+     * Redis 命中空值缓存的标记，仅在内部区分“命中空值”与“未命中”
+     */
+    private static final ShortLinkGotoTarget NULL_TARGET = new ShortLinkGotoTarget();
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final RedissonClient redissonClient;
+
+    private final RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter;
+
+    private final GotoCacheProperties gotoCacheProperties;
+
+    private final Cache<String, ShortLinkGotoTarget> localCache;
+
+    private final Cache<String, Boolean> localNullCache;
+
+    private final Counter bloomFilterAbsorbedCounter;
+
+    private final Counter localNullCacheAbsorbedCounter;
+
+    private final Counter redisNullCacheAbsorbedCounter;
+
+    private final SingleFlight<String, ShortLinkGotoTarget> rebuildSingleFlight = new SingleFlight<>();
+
+    public ShortLinkGotoCache(StringRedisTemplate stringRedisTemplate,
+                              RedissonClient redissonClient,
+                              RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter,
+                              GotoCacheProperties gotoCacheProperties,
+                              ShortLinkHotTracker shortLinkHotTracker,
+                              MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redissonClient = redissonClient;
+        this.shortUriCreateCachePenetrationBloomFilter = shortUriCreateCachePenetrationBloomFilter;
+        this.gotoCacheProperties = gotoCacheProperties;
+        this.localCache = Caffeine.newBuilder()
+                .maximumWeight(gotoCacheProperties.getLocalMaximumSize())
+                .weigher((String fullShortUrl, ShortLinkGotoTarget target) -> shortLinkHotTracker.isHot(fullShortUrl) ? 0 : 1)
+                .expireAfterWrite(gotoCacheProperties.getLocalExpireAfterWrite())
+                .build();
+        this.localNullCache = Caffeine.newBuilder()
+                .maximumSize(gotoCacheProperties.getNullLocalMaximumSize())
+                .expireAfterWrite(gotoCacheProperties.getNullTimeToLive())
+                .build();
+        this.bloomFilterAbsorbedCounter = missAbsorbedCounter(meterRegistry, "bloom-filter");
+        this.localNullCacheAbsorbedCounter = missAbsorbedCounter(meterRegistry, "local-null-cache");
+        this.redisNullCacheAbsorbedCounter = missAbsorbedCounter(meterRegistry, "redis-null-cache");
+    }
+
+    /**
+     * 查询短链接跳转目标
+     *
+     * @param fullShortUrl 完整短链接
+     * @param loader       两级缓存均未命中时的回源逻辑，返回 null 表示短链接不存在
+     * @return 跳转目标，不存在或已过期返回 null
+     */
+    public ShortLinkGotoTarget get(String fullShortUrl, Function<String, ShortLinkGotoTarget> loader) {
+        ShortLinkGotoTarget target = localCache.getIfPresent(fullShortUrl);
+        if (target == null) {
+            target = getFromRemote(fullShortUrl, loader);
+        }
+        if (target != null && target.isExpired()) {
+            localCache.invalidate(fullShortUrl);
+            return null;
+        }
+        return target;
+    }
+
+    /**
+     * 写入两级缓存并清除空值缓存，Redis 有效期不超过短链接自身有效期
+     */
+    public void put(String fullShortUrl, ShortLinkGotoTarget target) {
+        long timeToLive = gotoCacheProperties.getRedisTimeToLive().toMillis();
+        if (target.getExpireTime() != null) {
+            timeToLive = Math.min(timeToLive, target.getExpireTime() - System.currentTimeMillis());
+        }
+        if (timeToLive <= 0) {
+            return;
+        }
+        stringRedisTemplate.opsForValue().set(
+                String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
+                JSON.toJSONString(target),
+                timeToLive,
+                TimeUnit.MILLISECONDS
+        );
+        stringRedisTemplate.delete(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl));
+        localCache.put(fullShortUrl, target);
+        localNullCache.invalidate(fullShortUrl);
+    }
+
+    /**
+     * 短链接成为热点后使本地缓存条目失效，下次访问从 Redis 重新加载时按零权重写入；
+     * 不原地重写条目，避免重置写入时间延长本地缓存与其他节点不一致的时间
+     */
+    public void pin(String fullShortUrl) {
+        localCache.invalidate(fullShortUrl);
+    }
+
+    private void putNull(String fullShortUrl) {
+        stringRedisTemplate.opsForValue().set(
+                String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl),
+                NULL_VALUE,
+                gotoCacheProperties.getNullTimeToLive().toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+        localNullCache.put(fullShortUrl, Boolean.TRUE);
+    }
+
+    /**
+     * 本地缓存未命中后的查询路径：本地空值缓存 -> 布隆过滤器 -> Redis 跳转缓存与空值缓存 -> 回源
+     */
+    private ShortLinkGotoTarget getFromRemote(String fullShortUrl, Function<String, ShortLinkGotoTarget> loader) {
+        if (localNullCache.getIfPresent(fullShortUrl) != null) {
+            localNullCacheAbsorbedCounter.increment();
+            return null;
+        }
+        //布隆过滤器不存在的一定不存在
+        if (!shortUriCreateCachePenetrationBloomFilter.contains(fullShortUrl)) {
+            bloomFilterAbsorbedCounter.increment();
+            return null;
+        }
+        return rebuildSingleFlight.execute(fullShortUrl, () -> getFromRedisOrSource(fullShortUrl, loader));
+    }
+
+    /**
+     * 单飞执行：读取 Redis，未命中时回源；开启分布式锁时持锁后再次读取 Redis，其他节点可能已完成重建
+     */
+    private ShortLinkGotoTarget getFromRedisOrSource(String fullShortUrl, Function<String, ShortLinkGotoTarget> loader) {
+        ShortLinkGotoTarget cachedTarget = getFromRedis(fullShortUrl);
+        if (cachedTarget != null) {
+            return cachedTarget == NULL_TARGET ? null : cachedTarget;
+        }
+        if (!gotoCacheProperties.getDistributedLockEnabled()) {
+            return loadFromSource(fullShortUrl, loader);
+        }
+        RLock lock = redissonClient.getLock(String.format(LOCK_GOTO_SHORT_LINK_KEY, fullShortUrl));
+        boolean locked = tryLock(lock);
+        try {
+            if (locked) {
+                cachedTarget = getFromRedis(fullShortUrl);
+                if (cachedTarget != null) {
+                    return cachedTarget == NULL_TARGET ? null : cachedTarget;
+                }
+            }
+            return loadFromSource(fullShortUrl, loader);
+        } finally {
+            if (locked) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private ShortLinkGotoTarget loadFromSource(String fullShortUrl, Function<String, ShortLinkGotoTarget> loader) {
+        ShortLinkGotoTarget target = loader.apply(fullShortUrl);
+        if (target != null) {
+            put(fullShortUrl, target);
+        } else {
+            putNull(fullShortUrl);
+        }
+        return target;
+    }
+
+    /**
+     * 一次往返同时读取跳转缓存与空值缓存
+     *
+     * @return 命中返回跳转目标并回填本地缓存，命中空值缓存返回 {@link #NULL_TARGET}，未命中返回 null
+     */
+    private ShortLinkGotoTarget getFromRedis(String fullShortUrl) {
+        List<String> cachedValues = stringRedisTemplate.opsForValue().multiGet(Arrays.asList(
+                String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
+                String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl)
+        ));
+        if (cachedValues != null && StrUtil.isNotBlank(cachedValues.get(0))) {
+            ShortLinkGotoTarget target = JSON.parseObject(cachedValues.get(0), ShortLinkGotoTarget.class);
+            localCache.put(fullShortUrl, target);
+            return target;
+        }
+        if (cachedValues != null && cachedValues.get(1) != null) {
+            redisNullCacheAbsorbedCounter.increment();
+            localNullCache.put(fullShortUrl, Boolean.TRUE);
+            return NULL_TARGET;
+        }
+        return null;
+    }
+
+    /**
+     * 等待分布式锁，超时或被中断时放弃加锁直接回源，避免锁服务异常拖垮跳转
+     */
+    private boolean tryLock(RLock lock) {
+        try {
+            return lock.tryLock(gotoCacheProperties.getDistributedLockWaitTime().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter missAbsorbedCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("short-link.goto.miss.absorbed")
+                .description("未回源数据库即拦截的短链接跳转未命中次数")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
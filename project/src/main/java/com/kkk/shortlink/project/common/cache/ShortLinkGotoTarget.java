@@ -0,0 +1,40 @@
+package com.kkk.shortlink.project.common.cache;
+
+import com.alibaba.fastjson2.annotation.JSONField;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接跳转目标，跳转缓存中存储的值
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShortLinkGotoTarget {
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 原始链接
+     */
+    private String originUrl;
+
+    /**
+     * 过期时间戳（毫秒），为空表示永久有效
+     */
+    private Long expireTime;
+
+    /**
+     * 是否已过期
+     */
+    @JSONField(serialize = false)
+    public boolean isExpired() {
+        return expireTime != null && expireTime <= System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,83 @@
+package com.kkk.shortlink.project.common.constant;
+
+/**
+ * Redis Key 常量类
+ */
+public class RedisKeyConstant {
+
+    /**
+     * 短链接跳转缓存 Key，参数为完整短链接
+     */
+    public static final String GOTO_SHORT_LINK_KEY = "short-link:goto:%s";
+
+    /**
+     * 短链接跳转空值缓存 Key，参数为完整短链接
+     */
+    public static final String GOTO_IS_NULL_SHORT_LINK_KEY = "short-link:is-null:goto:%s";
+
+    /**
+     * 短链接跳转缓存重建分布式锁 Key，参数为完整短链接
+     */
+    public static final String LOCK_GOTO_SHORT_LINK_KEY = "short-link:lock:goto:%s";
+
+    /**
+     * 访问统计压缩任务分布式锁 Key，多节点同一时刻只有一个节点执行
+     */
+    public static final String LOCK_STATS_COMPACTION_KEY = "short-link:lock:stats-compaction";
+
+    /**
+     * 分组短链接数对账任务分布式锁 Key，多节点同一时刻只有一个节点执行
+     */
+    public static final String LOCK_LINK_COUNT_RECONCILE_KEY = "short-link:lock:link-count-reconcile";
+
+    /**
+     * 分组启用中的短链接数 Key，参数为分组标识
+     */
+    public static final String LINK_COUNT_KEY = "short-link:link-count:%s";
+
+    /**
+     * 布隆过滤器新增元素通知频道，本地镜像订阅后同步置位
+     */
+    public static final String BLOOM_FILTER_ADDED_TOPIC = "short-link:bloom-filter:added";
+
+    /**
+     * 短链接搜索文档变更通知频道，各节点订阅后更新本地已加载分组的索引
+     */
+    public static final String SEARCH_INDEX_CHANGED_TOPIC = "short-link:search-index:changed";
+
+    /**
+     * 短链接独立访客 HyperLogLog Key，参数为完整短链接与统计时间（yyyyMMddHH、yyyyMMdd 或 yyyyMM）；
+     * 访问统计 Key 均以完整短链接为 hash tag，同一短链接的统计 Key 位于同一个槽，可在一次 Lua 脚本中访问
+     */
+    public static final String LINK_STATS_UV_KEY = "short-link:stats:uv:{%s}:%s";
+
+    /**
+     * 短链接独立 IP HyperLogLog Key，参数为完整短链接与统计时间（yyyyMMddHH、yyyyMMdd 或 yyyyMM）
+     */
+    public static final String LINK_STATS_UIP_KEY = "short-link:stats:uip:{%s}:%s";
+
+    /**
+     * 短链接访问量计数 Key，参数为完整短链接与统计时间（yyyyMMddHH、yyyyMMdd 或 yyyyMM）
+     */
+    public static final String LINK_STATS_PV_KEY = "short-link:stats:pv:{%s}:%s";
+
+    /**
+     * 短链接浏览器、操作系统、设备日访问量 Hash Key，参数为完整短链接与统计日期（yyyyMMdd），字段为“维度:取值”
+     */
+    public static final String LINK_STATS_UA_KEY = "short-link:stats:ua:{%s}:%s";
+
+    /**
+     * 已计入统计的 Stream 消息 ID 集合 Key，参数为完整短链接与消息生成的小时（yyyyMMddHH），用于重放去重
+     */
+    public static final String LINK_STATS_PROCESSED_KEY = "short-link:stats:processed:{%s}:%s";
+
+    /**
+     * 短链接访问事件 Stream Key
+     */
+    public static final String LINK_STATS_STREAM_KEY = "short-link:stats-stream";
+
+    /**
+     * 短链接访问事件 Stream 消费者组
+     */
+    public static final String LINK_STATS_STREAM_GROUP = "short-link:stats-stream:only-group";
+}
@@ -0,0 +1,22 @@
+package com.kkk.shortlink.project.common.constant;
+
+/**
+ * 短链接常量类
+ */
+public class ShortLinkConstant {
+
+    /**
+     * 访客标识 Cookie 名称
+     */
+    public static final String UV_COOKIE_NAME = "uv";
+
+    /**
+     * 访客标识 Cookie 有效期，单位秒
+     */
+    public static final int UV_COOKIE_MAX_AGE = 60 * 60 * 24 * 30;
+
+    /**
+     * 游标分页单页最大条数
+     */
+    public static final int CURSOR_PAGE_MAX_SIZE = 100;
+}
@@ -0,0 +1,49 @@
+package com.kkk.shortlink.project.common.convert;
+
+import com.kkk.shortlink.project.dao.entity.ShortLinkDO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkPageRespDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 短链接对象转换
+ * 分页等热点路径逐字段调用 getter/setter，不经过反射拷贝；实体或返回参数增删字段时需同步修改
+ */
+public final class ShortLinkConverter {
+
+    private ShortLinkConverter() {
+    }
+
+    /**
+     * 短链接实体转分页返回参数
+     */
+    public static ShortLinkPageRespDTO toPageResp(ShortLinkDO shortLinkDO) {
+        if (shortLinkDO == null) {
+            return null;
+        }
+        ShortLinkPageRespDTO result = new ShortLinkPageRespDTO();
+        result.setId(shortLinkDO.getId());
+        result.setDomain(shortLinkDO.getDomain());
+        result.setShortUri(shortLinkDO.getShortUri());
+        result.setFullShortUrl(shortLinkDO.getFullShortUrl());
+        result.setOriginUrl(shortLinkDO.getOriginUrl());
+        result.setGid(shortLinkDO.getGid());
+        result.setValidDateType(shortLinkDO.getValidDateType());
+        result.setValidDate(shortLinkDO.getValidDate());
+        result.setDescribe(shortLinkDO.getDescribe());
+        result.setFavicon(shortLinkDO.getFavicon());
+        return result;
+    }
+
+    /**
+     * 短链接实体列表转分页返回参数列表
+     */
+    public static List<ShortLinkPageRespDTO> toPageRespList(List<ShortLinkDO> shortLinkDOList) {
+        List<ShortLinkPageRespDTO> result = new ArrayList<>(shortLinkDOList.size());
+        for (ShortLinkDO each : shortLinkDOList) {
+            result.add(toPageResp(each));
+        }
+        return result;
+    }
+}
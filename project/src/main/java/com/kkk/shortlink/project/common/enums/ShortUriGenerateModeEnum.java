@@ -0,0 +1,17 @@
+package com.kkk.shortlink.project.common.enums;
+
+/**
+ * 短链接后缀生成模式
+ */
+public enum ShortUriGenerateModeEnum {
+
+    /**
+     * 原始链接 + 时间戳哈希，布隆过滤器判重，冲突时重试
+     */
+    HASH,
+
+    /**
+     * 号段模式，从 Redis 批量申请 ID 号段后本地编码，构造即唯一，无需判重
+     */
+    SEGMENT
+}
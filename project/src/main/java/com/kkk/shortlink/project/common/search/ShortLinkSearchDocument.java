@@ -0,0 +1,41 @@
+package com.kkk.shortlink.project.common.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接搜索文档，只包含建索引需要的字段，作为变更通知在节点间广播
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortLinkSearchDocument {
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 完整短链接
+     */
+    private String fullShortUrl;
+
+    /**
+     * 原始链接
+     */
+    private String originUrl;
+
+    /**
+     * 描述
+     */
+    private String describe;
+
+    /**
+     * 创建时间，毫秒时间戳，得分相同时新创建的排在前面
+     */
+    private Long createTime;
+}
@@ -0,0 +1,251 @@
+package com.kkk.shortlink.project.common.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * 单个分组的二元组倒排索引
+ * 原始链接与描述转小写后按相邻两个字符切分，每个二元组对应一个按文档编号升序的倒排列表，中文与 URL 片段使用同一种切分。
+ * 查询词同样切分后求倒排列表交集得到候选，再按子串包含校验，二元组相邻但不连续的误命中在校验时剔除；单字符查询词无法缩小范围，校验全部文档。
+ * 同一短链接重新写入时旧文档标记删除，倒排列表中的旧编号在校验时跳过；标记删除的文档多于有效文档时整体重建，释放旧文档与倒排列表占用
+ */
+final class ShortLinkSearchGroupIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * 描述命中的基础得分，描述是用户填写的，比原始链接中的片段更能代表意图
+     */
+    private static final double DESCRIBE_WEIGHT = 2.0D;
+
+    private static final double ORIGIN_URL_WEIGHT = 1.0D;
+
+    /**
+     * 标记删除的文档至少达到该数量才重建，避免小分组频繁重建
+     */
+    private static final int COMPACT_MIN_TOMBSTONES = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Document> documents = new ArrayList<>();
+
+    private final Map<String, Integer> documentIds = new HashMap<>();
+
+    private final Map<Integer, Postings> postings = new HashMap<>();
+
+    private int tombstones;
+
+    /**
+     * 写入或替换一条短链接
+     */
+    void add(ShortLinkSearchDocument source) {
+        Document document = new Document(source.getFullShortUrl(), normalize(source.getOriginUrl()), normalize(source.getDescribe()),
+                source.getCreateTime() == null ? 0L : source.getCreateTime());
+        lock.writeLock().lock();
+        try {
+            index(document);
+            if (tombstones >= COMPACT_MIN_TOMBSTONES && tombstones > documentIds.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Document document) {
+        int docId = documents.size();
+        documents.add(document);
+        Integer previous = documentIds.put(document.fullShortUrl, docId);
+        if (previous != null) {
+            documents.set(previous, null);
+            tombstones++;
+        }
+        for (int gram : distinctGrams(document.describe, document.originUrl)) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(docId);
+        }
+    }
+
+    /**
+     * 只保留有效文档重新编号并重建倒排列表
+     */
+    private void compact() {
+        List<Document> live = documents.stream().filter(Objects::nonNull).toList();
+        documents.clear();
+        documentIds.clear();
+        postings.clear();
+        tombstones = 0;
+        live.forEach(this::index);
+    }
+
+    /**
+     * 有效文档数
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documentIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 文档槽位数，包含标记删除的文档，按内存占用淘汰分组时作为权重
+     */
+    int weight() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 查询包含全部查询词的短链接，按得分降序、创建时间倒序排列
+     *
+     * @param query 查询语句，空白分隔的多个词需同时命中
+     * @param from  起始下标
+     * @param size  条数
+     */
+    ShortLinkSearchResult search(String query, int from, int size) {
+        String[] terms = Arrays.stream(normalize(query).split("\\s+")).filter(each -> !each.isEmpty()).distinct().toArray(String[]::new);
+        if (terms.length == 0) {
+            return new ShortLinkSearchResult(0, List.of());
+        }
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int[] candidates = candidates(terms);
+            if (candidates == null) {
+                for (int docId = 0; docId < documents.size(); docId++) {
+                    collect(docId, terms, hits);
+                }
+            } else {
+                for (int docId : candidates) {
+                    collect(docId, terms, hits);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Comparator.comparingLong(Hit::createTime).reversed()));
+        List<String> fullShortUrls = hits.stream().skip(from).limit(size).map(Hit::fullShortUrl).toList();
+        return new ShortLinkSearchResult(hits.size(), fullShortUrls);
+    }
+
+    /**
+     * 各查询词二元组倒排列表的交集，所有查询词都只有一个字符时返回 null 表示需要校验全部文档
+     */
+    private int[] candidates(String[] terms) {
+        int[] result = null;
+        for (String term : terms) {
+            if (term.length() < 2) {
+                continue;
+            }
+            for (int i = 0; i + 1 < term.length(); i++) {
+                Postings each = postings.get(gram(term.charAt(i), term.charAt(i + 1)));
+                if (each == null) {
+                    return EMPTY;
+                }
+                result = result == null ? Arrays.copyOf(each.docIds, each.size) : intersect(result, each);
+                if (result.length == 0) {
+                    return EMPTY;
+                }
+            }
+        }
+        return result;
+    }
+
+    private void collect(int docId, String[] terms, List<Hit> hits) {
+        Document document = documents.get(docId);
+        if (document == null) {
+            return;
+        }
+        double score = 0;
+        for (String term : terms) {
+            double termScore = score(term, document.describe, DESCRIBE_WEIGHT) + score(term, document.originUrl, ORIGIN_URL_WEIGHT);
+            if (termScore == 0) {
+                return;
+            }
+            score += termScore;
+        }
+        hits.add(new Hit(document.fullShortUrl, score, document.createTime));
+    }
+
+    /**
+     * 命中字段得基础分，查询词占字段长度的比例越高、出现位置越靠前得分越高
+     */
+    private static double score(String term, String field, double weight) {
+        int index = field.indexOf(term);
+        if (index < 0) {
+            return 0;
+        }
+        return weight * (1.0D + (double) term.length() / field.length() + (index == 0 ? 0.5D : 0));
+    }
+
+    private static int[] intersect(int[] left, Postings right) {
+        int[] result = new int[Math.min(left.length, right.size)];
+        int count = 0;
+        for (int i = 0, j = 0; i < left.length && j < right.size; ) {
+            if (left[i] == right.docIds[j]) {
+                result[count++] = left[i];
+                i++;
+                j++;
+            } else if (left[i] < right.docIds[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int[] distinctGrams(String... fields) {
+        return Arrays.stream(fields)
+                .flatMapToInt(field -> IntStream.range(0, Math.max(field.length() - 1, 0))
+                        .map(i -> gram(field.charAt(i), field.charAt(i + 1))))
+                .distinct()
+                .toArray();
+    }
+
+    private static int gram(char first, char second) {
+        return (first << 16) | second;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private record Document(String fullShortUrl, String originUrl, String describe, long createTime) {
+    }
+
+    private record Hit(String fullShortUrl, double score, long createTime) {
+    }
+
+    /**
+     * 按文档编号升序追加的倒排列表，文档编号只增不减，追加即有序
+     */
+    private static final class Postings {
+
+        private int[] docIds = new int[4];
+
+        private int size;
+
+        private void add(int docId) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size << 1);
+            }
+            docIds[size++] = docId;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.kkk.shortlink.project.common.search;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.collection.ListUtil;
+import com.alibaba.fastjson2.JSON;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.kkk.shortlink.project.common.convention.exception.ClientException;
+import com.kkk.shortlink.project.config.SearchIndexProperties;
+import com.kkk.shortlink.project.dao.entity.ShortLinkDO;
+import com.kkk.shortlink.project.dao.mapper.ShortLinkMapper;
+import com.kkk.shortlink.project.toolkit.SingleFlight;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.StatusListener;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.SEARCH_INDEX_CHANGED_TOPIC;
+
+/**
+ * 短链接搜索本地索引
+ * 搜索总是限定在一个分组内，每个节点按分组懒加载 {@link ShortLinkSearchGroupIndex}：首次查询时按创建时间游标分批从分组所在分表读取，
+ * 每批只查询建索引需要的列，内存占用与批大小相关而与分组短链接数无关；已加载的分组按文档槽位总数有界淘汰，
+ * 增量更新后重新计算分组权重。短链接数超过单分组上限的分组不建索引，在有效期内直接拒绝搜索。
+ * 创建短链接后在事务提交后广播变更通知，各节点只更新已加载或正在加载的分组，未加载的分组下次查询时从数据库重建。
+ * 订阅断开期间丢失的通知由索引有效期到期重建修复，增量更新不延长有效期，断线重连时直接清空全部分组索引
+ */
+@Slf4j
+@Component
+public class ShortLinkSearchIndex implements InitializingBean, DisposableBean {
+
+    /**
+     * 每条变更通知最多包含的文档数
+     */
+    private static final int PUBLISH_BATCH_SIZE = 1000;
+
+    private final RedissonClient redissonClient;
+
+    private final ShortLinkMapper shortLinkMapper;
+
+    private final SearchIndexProperties searchIndexProperties;
+
+    private final Cache<String, ShortLinkSearchGroupIndex> groupIndexes;
+
+    /**
+     * 短链接数超过单分组上限的分组，有效期与分组索引相同
+     */
+    private final Cache<String, Boolean> oversizedGroups;
+
+    /**
+     * 正在从数据库重建的分组索引，重建期间收到的变更通知同样写入，重建完成后不会丢失
+     */
+    private final ConcurrentHashMap<String, ShortLinkSearchGroupIndex> building = new ConcurrentHashMap<>();
+
+    /**
+     * 同一分组并发查询只重建一次，重建在缓存的 compute 之外执行，不阻塞变更通知更新其他分组
+     */
+    private final SingleFlight<String, ShortLinkSearchGroupIndex> rebuildFlight = new SingleFlight<>();
+
+    private final Timer searchTimer;
+
+    private final Timer rebuildTimer;
+
+    private RTopic topic;
+
+    public ShortLinkSearchIndex(RedissonClient redissonClient,
+                                ShortLinkMapper shortLinkMapper,
+                                SearchIndexProperties searchIndexProperties,
+                                MeterRegistry meterRegistry) {
+        this.redissonClient = redissonClient;
+        this.shortLinkMapper = shortLinkMapper;
+        this.searchIndexProperties = searchIndexProperties;
+        long timeToLiveNanos = searchIndexProperties.getExpireAfterWrite().toNanos();
+        this.groupIndexes = Caffeine.newBuilder()
+                .maximumWeight(searchIndexProperties.getMaximumDocuments())
+                .weigher((String gid, ShortLinkSearchGroupIndex index) -> Math.max(index.weight(), 1))
+                .expireAfter(new Expiry<String, ShortLinkSearchGroupIndex>() {
+
+                    @Override
+                    public long expireAfterCreate(String gid, ShortLinkSearchGroupIndex index, long currentTime) {
+                        return timeToLiveNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String gid, ShortLinkSearchGroupIndex index, long currentTime, long currentDuration) {
+                        //增量更新后重新计算权重，但不延长有效期
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String gid, ShortLinkSearchGroupIndex index, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.oversizedGroups = Caffeine.newBuilder()
+                .maximumSize(10000)
+                .expireAfterWrite(searchIndexProperties.getExpireAfterWrite())
+                .build();
+        this.searchTimer = Timer.builder("short-link.search.query")
+                .description("短链接搜索查询本地索引耗时")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("short-link.search.rebuild")
+                .description("分组索引从数据库重建耗时")
+                .register(meterRegistry);
+        Gauge.builder("short-link.search.loaded-groups", groupIndexes, Cache::estimatedSize)
+                .description("已加载索引的分组数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        topic = redissonClient.getTopic(SEARCH_INDEX_CHANGED_TOPIC, StringCodec.INSTANCE);
+        topic.addListener(String.class, (channel, message) -> onChanged(message));
+        topic.addListener(new StatusListener() {
+            @Override
+            public void onSubscribe(String channel) {
+                //断线重连后重新订阅，期间的变更通知已丢失，已加载的分组下次查询时重建
+                groupIndexes.invalidateAll();
+            }
+
+            @Override
+            public void onUnsubscribe(String channel) {
+            }
+        });
+    }
+
+    /**
+     * 在分组内搜索短链接，分组索引未加载时先从数据库重建
+     *
+     * @param gid     分组标识
+     * @param query   查询语句，空白分隔的多个词需同时命中
+     * @param current 页码，从 1 开始
+     * @param size    每页条数
+     */
+    public ShortLinkSearchResult search(String gid, String query, long current, long size) {
+        if (oversizedGroups.getIfPresent(gid) != null) {
+            throw oversized();
+        }
+        ShortLinkSearchGroupIndex index = groupIndexes.getIfPresent(gid);
+        if (index == null) {
+            index = rebuildFlight.execute(gid, () -> rebuild(gid));
+        }
+        long start = System.nanoTime();
+        int pageSize = (int) Math.min(Math.max(size, 1), searchIndexProperties.getMaxPageSize());
+        long from = (Math.max(current, 1) - 1) * pageSize;
+        ShortLinkSearchResult result = index.search(query, (int) Math.min(from, Integer.MAX_VALUE), pageSize);
+        searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * 在当前事务提交后广播短链接变更，没有事务时立即广播
+     */
+    public void publishAfterCommit(List<ShortLinkDO> shortLinkDOs) {
+        if (CollUtil.isEmpty(shortLinkDOs)) {
+            return;
+        }
+        List<ShortLinkSearchDocument> documents = shortLinkDOs.stream().map(ShortLinkSearchIndex::toDocument).toList();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(documents);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                publish(documents);
+            }
+        });
+    }
+
+    /**
+     * 广播失败只记录日志，已加载的分组索引到期重建后包含遗漏的短链接
+     */
+    private void publish(List<ShortLinkSearchDocument> documents) {
+        try {
+            ListUtil.partition(documents, PUBLISH_BATCH_SIZE).forEach(each -> topic.publish(JSON.toJSONString(each)));
+        } catch (RedisException ex) {
+            log.error("短链接搜索变更通知发送失败，条数：{}", documents.size(), ex);
+        }
+    }
+
+    private void onChanged(String message) {
+        for (ShortLinkSearchDocument each : JSON.parseArray(message, ShortLinkSearchDocument.class)) {
+            //重建完成时先放入缓存再移出重建中的分组，这里按相反顺序读取，变更至少写入其中之一
+            ShortLinkSearchGroupIndex rebuilding = building.get(each.getGid());
+            if (rebuilding != null) {
+                rebuilding.add(each);
+            }
+            //通过 compute 写入，缓存按写入后的文档槽位数重新计算权重；超过单分组上限时移出并标记
+            groupIndexes.asMap().computeIfPresent(each.getGid(), (gid, loaded) -> {
+                if (loaded != rebuilding) {
+                    loaded.add(each);
+                }
+                if (loaded.size() > maxGroupDocuments()) {
+                    oversizedGroups.put(gid, Boolean.TRUE);
+                    return null;
+                }
+                return loaded;
+            });
+        }
+    }
+
+    /**
+     * 按 (create_time, id) 游标分批读取分组内启用中的短链接，带分片键只路由到单个分表；
+     * 与游标分页一样沿 (gid, enable_status, del_flag, create_time, id) 索引从上一批末尾定位后顺序读取，每批不重复扫描整个分组
+     */
+    private ShortLinkSearchGroupIndex rebuild(String gid) {
+        ShortLinkSearchGroupIndex loaded = groupIndexes.getIfPresent(gid);
+        if (loaded != null) {
+            return loaded;
+        }
+        long start = System.nanoTime();
+        ShortLinkSearchGroupIndex index = new ShortLinkSearchGroupIndex();
+        building.put(gid, index);
+        try {
+            int batchSize = searchIndexProperties.getRebuildBatchSize();
+            ShortLinkDO last = null;
+            List<ShortLinkDO> batch;
+            do {
+                ShortLinkDO cursor = last;
+                batch = shortLinkMapper.selectList(Wrappers.lambdaQuery(ShortLinkDO.class)
+                        .select(ShortLinkDO::getId, ShortLinkDO::getGid, ShortLinkDO::getFullShortUrl, ShortLinkDO::getOriginUrl,
+                                ShortLinkDO::getDescribe, ShortLinkDO::getCreateTime)
+                        .eq(ShortLinkDO::getGid, gid)
+                        .eq(ShortLinkDO::getEnableStatus, 0)
+                        .eq(ShortLinkDO::getDelFlag, 0)
+                        .and(cursor != null, wrapper -> wrapper.gt(ShortLinkDO::getCreateTime, cursor.getCreateTime())
+                                .or(each -> each.eq(ShortLinkDO::getCreateTime, cursor.getCreateTime()).gt(ShortLinkDO::getId, cursor.getId())))
+                        .orderByAsc(ShortLinkDO::getCreateTime)
+                        .orderByAsc(ShortLinkDO::getId)
+                        .last("LIMIT " + batchSize));
+                batch.forEach(each -> index.add(toDocument(each)));
+                if (index.size() > maxGroupDocuments()) {
+                    oversizedGroups.put(gid, Boolean.TRUE);
+                    throw oversized();
+                }
+                if (!batch.isEmpty()) {
+                    last = batch.get(batch.size() - 1);
+                }
+            } while (batch.size() == batchSize);
+            //先放入缓存再移出重建中的分组，两步之间到达的变更通知不会丢失
+            loaded = groupIndexes.asMap().putIfAbsent(gid, index);
+        } finally {
+            building.remove(gid, index);
+        }
+        rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return loaded != null ? loaded : index;
+    }
+
+    private long maxGroupDocuments() {
+        return Math.min(searchIndexProperties.getMaxGroupDocuments(), searchIndexProperties.getMaximumDocuments());
+    }
+
+    private ClientException oversized() {
+        return new ClientException("分组短链接数超过 " + maxGroupDocuments() + "，暂不支持搜索");
+    }
+
+    private static ShortLinkSearchDocument toDocument(ShortLinkDO shortLinkDO) {
+        return ShortLinkSearchDocument.builder()
+                .gid(shortLinkDO.getGid())
+                .fullShortUrl(shortLinkDO.getFullShortUrl())
+                .originUrl(shortLinkDO.getOriginUrl())
+                .describe(shortLinkDO.getDescribe())
+                .createTime(shortLinkDO.getCreateTime() == null ? null : shortLinkDO.getCreateTime().getTime())
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        if (topic != null) {
+            topic.removeAllListeners();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.kkk.shortlink.project.common.search;
+
+import java.util.List;
+
+/**
+ * 短链接搜索结果
+ *
+ * @param total         命中总数
+ * @param fullShortUrls 当前页按得分排序的完整短链接
+ */
+public record ShortLinkSearchResult(long total, List<String> fullShortUrls) {
+}
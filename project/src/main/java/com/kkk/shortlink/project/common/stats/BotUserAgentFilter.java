@@ -0,0 +1,54 @@
+package com.kkk.shortlink.project.common.stats;
+
+import com.kkk.shortlink.project.config.BotFilterProperties;
+import com.kkk.shortlink.project.toolkit.AhoCorasickMatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 爬虫与链接预览机器人过滤
+ * 配置的 User-Agent 特征片段在启动时编译为 {@link AhoCorasickMatcher}，跳转请求上一次遍历 User-Agent 即可判定，不分配对象；
+ * 按命中的特征片段分别计数，便于评估特征列表
+ */
+@Component
+public class BotUserAgentFilter {
+
+    private final boolean enabled;
+
+    private final AhoCorasickMatcher matcher;
+
+    private final Counter[] filteredCounters;
+
+    public BotUserAgentFilter(BotFilterProperties botFilterProperties, MeterRegistry meterRegistry) {
+        List<String> signatures = Stream.concat(botFilterProperties.getSignatures().stream(), botFilterProperties.getAdditionalSignatures().stream())
+                .distinct()
+                .toList();
+        this.enabled = botFilterProperties.getEnabled() && !signatures.isEmpty();
+        this.matcher = new AhoCorasickMatcher(signatures);
+        this.filteredCounters = signatures.stream()
+                .map(each -> Counter.builder("short-link.bot.filtered")
+                        .description("按 User-Agent 识别为爬虫、不计入统计的跳转次数")
+                        .tag("signature", each)
+                        .register(meterRegistry))
+                .toArray(Counter[]::new);
+    }
+
+    /**
+     * 判断是否为爬虫或链接预览机器人，命中时计数
+     */
+    public boolean isBot(String userAgent) {
+        if (!enabled) {
+            return false;
+        }
+        int index = matcher.match(userAgent);
+        if (index < 0) {
+            return false;
+        }
+        filteredCounters[index].increment();
+        return true;
+    }
+}
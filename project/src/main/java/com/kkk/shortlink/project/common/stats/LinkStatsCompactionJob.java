@@ -0,0 +1,242 @@
+package com.kkk.shortlink.project.common.stats;
+
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import com.kkk.shortlink.project.config.LinkStatsProperties;
+import com.kkk.shortlink.project.config.StatsCompactionProperties;
+import com.kkk.shortlink.project.dao.entity.LinkAccessStatsDO;
+import com.kkk.shortlink.project.dao.mapper.LinkAccessStatsMapper;
+import com.kkk.shortlink.project.toolkit.LinkShardingUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.LOCK_STATS_COMPACTION_KEY;
+
+/**
+ * 访问统计保留与压缩
+ * 超出保留时长的小时统计汇总到日统计、日统计按整月汇总到月统计后删除，月统计超出保留时长直接删除。
+ * 统计表按 gid 分片，按分组标识游标分页查出有过期行的分组，每页沿 (gid, date) 索引扫描、凑满即停，不对分表做全表 DISTINCT；
+ * 每页的分组按分表分组，每次只处理同一分表的一批分组，汇总与删除语句带分组条件只路由到单个分表；
+ * 删除时先查一批主键再按主键删除，单条 DELETE 行数有上限，不会长时间锁表。
+ * 汇总按较大值写入，任务中断后重新执行结果不变
+ */
+@Slf4j
+@Component
+public class LinkStatsCompactionJob implements InitializingBean, DisposableBean {
+
+    private static final Log BATCH_LOG = LogFactory.getLog(LinkStatsCompactionJob.class);
+
+    private final LinkAccessStatsMapper linkAccessStatsMapper;
+
+    private final RedissonClient redissonClient;
+
+    private final StatsCompactionProperties statsCompactionProperties;
+
+    private final LinkStatsProperties linkStatsProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ScheduledExecutorService compactionExecutor = Executors.newSingleThreadScheduledExecutor(
+            ThreadFactoryBuilder.create().setNamePrefix("short-link-stats-compaction-").setDaemon(true).build()
+    );
+
+    private volatile boolean running = true;
+
+    public LinkStatsCompactionJob(LinkAccessStatsMapper linkAccessStatsMapper,
+                                  RedissonClient redissonClient,
+                                  StatsCompactionProperties statsCompactionProperties,
+                                  LinkStatsProperties linkStatsProperties,
+                                  MeterRegistry meterRegistry) {
+        this.linkAccessStatsMapper = linkAccessStatsMapper;
+        this.redissonClient = redissonClient;
+        this.statsCompactionProperties = statsCompactionProperties;
+        this.linkStatsProperties = linkStatsProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!statsCompactionProperties.getEnabled()) {
+            return;
+        }
+        compactionExecutor.scheduleWithFixedDelay(this::compactQuietly,
+                statsCompactionProperties.getInitialDelay().toMillis(),
+                statsCompactionProperties.getInterval().toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (Exception ex) {
+            log.error("访问统计压缩失败，下次执行时继续", ex);
+        }
+    }
+
+    /**
+     * 按小时、日、月顺序压缩，小时统计先汇总进日统计，日统计再汇总进月统计
+     */
+    void compact() {
+        RLock lock = redissonClient.getLock(LOCK_STATS_COMPACTION_KEY);
+        if (!lock.tryLock()) {
+            log.info("其他节点正在执行访问统计压缩，本次跳过");
+            return;
+        }
+        try {
+            LocalDate today = LocalDate.now();
+            Duration hourRetention = statsCompactionProperties.getHourRetention();
+            if (!hourRetention.isZero()) {
+                compact(Granularity.HOUR, today.minusDays(hourRetention.toDays()));
+            }
+            //只汇总整月的日统计，同一个月的日统计一次汇总，避免部分日期的和覆盖月统计
+            Duration dayRetention = statsCompactionProperties.getDayRetention();
+            if (!dayRetention.isZero()) {
+                compact(Granularity.DAY, today.minusDays(dayRetention.toDays()).withDayOfMonth(1));
+            }
+            Duration monthRetention = statsCompactionProperties.getMonthRetention();
+            if (!monthRetention.isZero()) {
+                compact(Granularity.MONTH, today.minusDays(monthRetention.toDays()).withDayOfMonth(1));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void compact(Granularity granularity, LocalDate before) {
+        long start = System.nanoTime();
+        Date beforeDate = Date.valueOf(before);
+        int scanSize = statsCompactionProperties.getGidScanSize();
+        long groups = 0;
+        long rolledUp = 0;
+        long deleted = 0;
+        String lastGid = null;
+        List<String> page;
+        do {
+            page = linkAccessStatsMapper.listStatsGids(granularity.table, lastGid, beforeDate, scanSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            lastGid = page.get(page.size() - 1);
+            groups += page.size();
+            Map<Integer, List<String>> shardGids = new TreeMap<>();
+            page.forEach(each -> shardGids.computeIfAbsent(LinkShardingUtil.tableIndex(each), key -> new ArrayList<>()).add(each));
+            for (List<String> gids : shardGids.values()) {
+                for (List<String> batch : ListUtil.partition(gids, statsCompactionProperties.getGidBatchSize())) {
+                    if (!running) {
+                        return;
+                    }
+                    rolledUp += rollUp(granularity, batch, beforeDate);
+                    deleted += deleteExpired(granularity, batch, beforeDate);
+                }
+            }
+        } while (page.size() == scanSize);
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("short-link.stats.compaction")
+                .description("访问统计压缩耗时")
+                .tag("granularity", granularity.label)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        rowsCounter(granularity, "rollup").increment(rolledUp);
+        rowsCounter(granularity, "delete").increment(deleted);
+        log.info("访问统计压缩完成，粒度：{}，截止日期：{}，分组数：{}，汇总行数：{}，删除行数：{}，耗时：{} ms",
+                granularity.label, before, groups, rolledUp, deleted,
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private int rollUp(Granularity granularity, List<String> gids, Date before) {
+        List<LinkAccessStatsDO> rows = switch (granularity) {
+            case HOUR -> linkAccessStatsMapper.listHourRollup(gids, before);
+            case DAY -> linkAccessStatsMapper.listDayRollup(gids, before);
+            case MONTH -> List.of();
+        };
+        SqlHelper.executeBatch(LinkAccessStatsDO.class, BATCH_LOG, rows, linkStatsProperties.getBatchSize(), (sqlSession, item) -> {
+            LinkAccessStatsMapper mapper = sqlSession.getMapper(LinkAccessStatsMapper.class);
+            if (granularity == Granularity.HOUR) {
+                mapper.upsertDayRollup(item);
+            } else {
+                mapper.upsertMonthRollup(item);
+            }
+        });
+        return rows.size();
+    }
+
+    private long deleteExpired(Granularity granularity, List<String> gids, Date before) {
+        long deleted = 0;
+        long pauseMillis = statsCompactionProperties.getDeleteChunkPause().toMillis();
+        while (running) {
+            List<Long> ids = linkAccessStatsMapper.listExpiredIds(granularity.table, gids, before, statsCompactionProperties.getDeleteChunkSize());
+            if (ids.isEmpty()) {
+                break;
+            }
+            deleted += linkAccessStatsMapper.deleteByIds(granularity.table, gids, ids);
+            if (ids.size() < statsCompactionProperties.getDeleteChunkSize()) {
+                break;
+            }
+            sleep(pauseMillis);
+        }
+        return deleted;
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private Counter rowsCounter(Granularity granularity, String action) {
+        return Counter.builder("short-link.stats.compaction.rows")
+                .description("访问统计压缩处理的行数")
+                .tag("granularity", granularity.label)
+                .tag("action", action)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 停机时中断正在执行的压缩，已删除的行都已汇总，下次执行从剩余的行继续
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        compactionExecutor.shutdown();
+        compactionExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    @RequiredArgsConstructor
+    private enum Granularity {
+
+        HOUR("hour", "t_link_access_stats"),
+
+        DAY("day", "t_link_access_stats_day"),
+
+        MONTH("month", "t_link_access_stats_month");
+
+        private final String label;
+
+        private final String table;
+    }
+}
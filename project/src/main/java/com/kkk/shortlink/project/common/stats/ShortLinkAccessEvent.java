@@ -0,0 +1,91 @@
+package com.kkk.shortlink.project.common.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 短链接访问事件
+ * 写入 Redis Stream 时使用单字母字段名，空值字段不写入，减小每条消息的体积
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShortLinkAccessEvent {
+
+    /**
+     * 完整短链接
+     */
+    private String fullShortUrl;
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 访客标识，取自 Cookie
+     */
+    private String uv;
+
+    /**
+     * 访客 IP
+     */
+    private String ip;
+
+    /**
+     * User-Agent
+     */
+    private String ua;
+
+    /**
+     * 来源页面
+     */
+    private String referer;
+
+    /**
+     * 访问时间戳，毫秒
+     */
+    private Long timestamp;
+
+    /**
+     * 转换为 Redis Stream 消息字段
+     */
+    public Map<String, String> toStreamEntries() {
+        Map<String, String> entries = new HashMap<>(8);
+        putIfNotNull(entries, "f", fullShortUrl);
+        putIfNotNull(entries, "g", gid);
+        putIfNotNull(entries, "u", uv);
+        putIfNotNull(entries, "i", ip);
+        putIfNotNull(entries, "a", ua);
+        putIfNotNull(entries, "r", referer);
+        entries.put("t", String.valueOf(timestamp));
+        return entries;
+    }
+
+    /**
+     * 从 Redis Stream 消息字段还原
+     */
+    public static ShortLinkAccessEvent fromStreamEntries(Map<String, String> entries) {
+        return ShortLinkAccessEvent.builder()
+                .fullShortUrl(entries.get("f"))
+                .gid(entries.get("g"))
+                .uv(entries.get("u"))
+                .ip(entries.get("i"))
+                .ua(entries.get("a"))
+                .referer(entries.get("r"))
+                .timestamp(Long.parseLong(entries.get("t")))
+                .build();
+    }
+
+    private static void putIfNotNull(Map<String, String> entries, String field, String value) {
+        if (value != null) {
+            entries.put(field, value);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.kkk.shortlink.project.common.stats;
+
+import com.kkk.shortlink.project.dao.entity.LinkAccessStatsDO;
+import com.kkk.shortlink.project.dao.entity.LinkUaStatsDO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一批访问事件涉及的统计桶当前累计值
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShortLinkAccessStats {
+
+    /**
+     * 小时统计
+     */
+    private List<LinkAccessStatsDO> hourStats = new ArrayList<>();
+
+    /**
+     * 日统计
+     */
+    private List<LinkAccessStatsDO> dayStats = new ArrayList<>();
+
+    /**
+     * 月统计，日期为当月第一天
+     */
+    private List<LinkAccessStatsDO> monthStats = new ArrayList<>();
+
+    /**
+     * 浏览器、操作系统、设备日统计
+     */
+    private List<LinkUaStatsDO> uaStats = new ArrayList<>();
+}
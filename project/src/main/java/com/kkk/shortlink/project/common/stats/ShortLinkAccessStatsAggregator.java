@@ -0,0 +1,230 @@
+package com.kkk.shortlink.project.common.stats;
+
+import com.kkk.shortlink.project.config.LinkStatsProperties;
+import com.kkk.shortlink.project.dao.entity.LinkAccessStatsDO;
+import com.kkk.shortlink.project.dao.entity.LinkUaStatsDO;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RHyperLogLogAsync;
+import org.redisson.api.RMapAsync;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.LINK_STATS_PROCESSED_KEY;
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.LINK_STATS_PV_KEY;
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.LINK_STATS_UA_KEY;
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.LINK_STATS_UIP_KEY;
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.LINK_STATS_UV_KEY;
+
+/**
+ * 短链接访问统计聚合
+ * 一批访问事件按短链接拆分，每个短链接一次 Lua 脚本在 Redis 中累加：按消息 ID 去重后 INCR 小时、日、月 PV，PFADD 小时、日、月 UV 与 UIP HyperLogLog；
+ * 同时按 {@link UserAgentClassifier} 的分类结果 HINCRBY 浏览器、操作系统、设备日访问量；再一次管道读取本批涉及的统计桶的当前累计值。HyperLogLog 每个 Key 最多 12KB，单个短链接的内存占用与访问量无关。
+ * 脚本访问的 Key 全部通过 KEYS 传入，并以完整短链接作为 hash tag，同一短链接的计数、HyperLogLog 与去重集合落在同一个槽，集群模式下一次脚本只访问一个节点；
+ * 各短链接的脚本通过一次管道发送。
+ * 统计行写入的是累计值而不是增量，消费失败后重放同一批消息时 Lua 去重跳过已计入的消息，重复写入结果不变
+ */
+@Component
+public class ShortLinkAccessStatsAggregator {
+
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+
+    public static final String UA_TYPE_BROWSER = "browser";
+
+    public static final String UA_TYPE_OS = "os";
+
+    public static final String UA_TYPE_DEVICE = "device";
+
+    private static final char UA_FIELD_SEPARATOR = ':';
+
+    /**
+     * 每条消息的 Key 数与参数数
+     */
+    private static final int KEYS_PER_EVENT = 11;
+
+    private static final int ARGS_PER_EVENT = 6;
+
+    /**
+     * Key：每条消息依次为去重集合、小时/日/月 PV、小时/日/月 UV、小时/日/月 UIP、日 User-Agent 分布；
+     * 参数：小时与日有效期秒数、月有效期秒数，之后每条消息依次为消息 ID、访客标识、IP、浏览器/操作系统/设备字段
+     */
+    private static final String AGGREGATE_SCRIPT = """
+            local ttls = {tonumber(ARGV[1]), tonumber(ARGV[1]), tonumber(ARGV[2])}
+            local applied = 0
+            for n = 0, #KEYS / 11 - 1 do
+                local k = n * 11
+                local a = n * 6 + 2
+                if redis.call('SADD', KEYS[k + 1], ARGV[a + 1]) == 1 then
+                    redis.call('EXPIRE', KEYS[k + 1], ttls[1])
+                    for j = 1, 3 do
+                        redis.call('INCR', KEYS[k + 1 + j])
+                        redis.call('EXPIRE', KEYS[k + 1 + j], ttls[j])
+                        if ARGV[a + 2] ~= '' then
+                            redis.call('PFADD', KEYS[k + 4 + j], ARGV[a + 2])
+                            redis.call('EXPIRE', KEYS[k + 4 + j], ttls[j])
+                        end
+                        if ARGV[a + 3] ~= '' then
+                            redis.call('PFADD', KEYS[k + 7 + j], ARGV[a + 3])
+                            redis.call('EXPIRE', KEYS[k + 7 + j], ttls[j])
+                        end
+                    end
+                    for j = 4, 6 do
+                        redis.call('HINCRBY', KEYS[k + 11], ARGV[a + j], 1)
+                    end
+                    redis.call('EXPIRE', KEYS[k + 11], ttls[2])
+                    applied = applied + 1
+                end
+            end
+            return applied
+            """;
+
+    private final RedissonClient redissonClient;
+
+    private final LinkStatsProperties linkStatsProperties;
+
+    private final UserAgentClassifier userAgentClassifier;
+
+    public ShortLinkAccessStatsAggregator(RedissonClient redissonClient,
+                                          LinkStatsProperties linkStatsProperties,
+                                          UserAgentClassifier userAgentClassifier) {
+        this.redissonClient = redissonClient;
+        this.linkStatsProperties = linkStatsProperties;
+        this.userAgentClassifier = userAgentClassifier;
+    }
+
+    /**
+     * 去重累加一批访问事件，返回涉及的统计桶当前累计值
+     *
+     * @param events Stream 消息 ID 到访问事件，消息 ID 即去重标识
+     */
+    public ShortLinkAccessStats aggregate(Map<String, ShortLinkAccessEvent> events) {
+        ShortLinkAccessStats result = new ShortLinkAccessStats();
+        if (events.isEmpty()) {
+            return result;
+        }
+        Map<AccessBucketKey, String> hourBuckets = new LinkedHashMap<>();
+        Map<AccessBucketKey, String> dayBuckets = new LinkedHashMap<>();
+        Map<AccessBucketKey, String> monthBuckets = new LinkedHashMap<>();
+        Map<String, List<Object>> linkKeys = new LinkedHashMap<>();
+        Map<String, List<Object>> linkArgs = new LinkedHashMap<>();
+        events.forEach((messageId, event) -> {
+            LocalDateTime accessTime = toLocalDateTime(event.getTimestamp());
+            LocalDate date = accessTime.toLocalDate();
+            String daySuffix = date.format(DAY_FORMATTER);
+            String hourSuffix = daySuffix + String.format("%02d", accessTime.getHour());
+            String monthSuffix = date.format(MONTH_FORMATTER);
+            String[] suffixes = {hourSuffix, daySuffix, monthSuffix};
+            hourBuckets.putIfAbsent(new AccessBucketKey(event.getFullShortUrl(), event.getGid(), date, accessTime.getHour()), hourSuffix);
+            dayBuckets.putIfAbsent(new AccessBucketKey(event.getFullShortUrl(), event.getGid(), date, null), daySuffix);
+            monthBuckets.putIfAbsent(new AccessBucketKey(event.getFullShortUrl(), event.getGid(), date.withDayOfMonth(1), null), monthSuffix);
+            List<Object> keys = linkKeys.computeIfAbsent(event.getFullShortUrl(), each -> new ArrayList<>());
+            List<Object> args = linkArgs.computeIfAbsent(event.getFullShortUrl(), each -> new ArrayList<>(List.of(
+                    String.valueOf(linkStatsProperties.getRedisTimeToLive().toSeconds()),
+                    String.valueOf(linkStatsProperties.getMonthRedisTimeToLive().toSeconds()))));
+            keys.add(String.format(LINK_STATS_PROCESSED_KEY, event.getFullShortUrl(), processedSuffix(messageId)));
+            for (String keyFormat : new String[]{LINK_STATS_PV_KEY, LINK_STATS_UV_KEY, LINK_STATS_UIP_KEY}) {
+                for (String suffix : suffixes) {
+                    keys.add(String.format(keyFormat, event.getFullShortUrl(), suffix));
+                }
+            }
+            keys.add(String.format(LINK_STATS_UA_KEY, event.getFullShortUrl(), daySuffix));
+            args.add(messageId);
+            args.add(Objects.toString(event.getUv(), ""));
+            args.add(Objects.toString(event.getIp(), ""));
+            UserAgentClassifier.UserAgentClassification classification = userAgentClassifier.classify(event.getUa());
+            args.add(UA_TYPE_BROWSER + UA_FIELD_SEPARATOR + classification.browser());
+            args.add(UA_TYPE_OS + UA_FIELD_SEPARATOR + classification.os());
+            args.add(UA_TYPE_DEVICE + UA_FIELD_SEPARATOR + classification.device());
+        });
+        RBatch aggregateBatch = redissonClient.createBatch();
+        linkKeys.forEach((fullShortUrl, keys) -> aggregateBatch.getScript(StringCodec.INSTANCE).evalAsync(RScript.Mode.READ_WRITE,
+                AGGREGATE_SCRIPT, RScript.ReturnType.INTEGER, keys, linkArgs.get(fullShortUrl).toArray()));
+        aggregateBatch.execute();
+
+        RBatch batch = redissonClient.createBatch();
+        Map<AccessBucketKey, RFuture<?>[]> hourCounts = readCounts(batch, hourBuckets);
+        Map<AccessBucketKey, RFuture<?>[]> dayCounts = readCounts(batch, dayBuckets);
+        Map<AccessBucketKey, RFuture<?>[]> monthCounts = readCounts(batch, monthBuckets);
+        Map<AccessBucketKey, RFuture<Map<String, String>>> uaCounts = new LinkedHashMap<>();
+        dayBuckets.forEach((key, daySuffix) -> {
+            RMapAsync<String, String> uaMap = batch.getMap(String.format(LINK_STATS_UA_KEY, key.fullShortUrl, daySuffix), StringCodec.INSTANCE);
+            uaCounts.put(key, uaMap.readAllMapAsync());
+        });
+        batch.execute();
+        hourCounts.forEach((key, counts) -> result.getHourStats().add(buildStats(key, counts)));
+        dayCounts.forEach((key, counts) -> result.getDayStats().add(buildStats(key, counts)));
+        monthCounts.forEach((key, counts) -> result.getMonthStats().add(buildStats(key, counts)));
+        uaCounts.forEach((key, counts) -> new TreeMap<>(counts.toCompletableFuture().join()).forEach((field, cnt) -> {
+            int index = field.indexOf(UA_FIELD_SEPARATOR);
+            result.getUaStats().add(LinkUaStatsDO.builder()
+                    .gid(key.gid)
+                    .fullShortUrl(key.fullShortUrl)
+                    .date(java.sql.Date.valueOf(key.date))
+                    .type(field.substring(0, index))
+                    .name(field.substring(index + 1))
+                    .cnt(Integer.parseInt(cnt))
+                    .build());
+        }));
+        return result;
+    }
+
+    private static Map<AccessBucketKey, RFuture<?>[]> readCounts(RBatch batch, Map<AccessBucketKey, String> buckets) {
+        Map<AccessBucketKey, RFuture<?>[]> counts = new LinkedHashMap<>();
+        buckets.forEach((key, timeSuffix) -> {
+            RHyperLogLogAsync<String> uv = batch.getHyperLogLog(String.format(LINK_STATS_UV_KEY, key.fullShortUrl, timeSuffix), StringCodec.INSTANCE);
+            RHyperLogLogAsync<String> uip = batch.getHyperLogLog(String.format(LINK_STATS_UIP_KEY, key.fullShortUrl, timeSuffix), StringCodec.INSTANCE);
+            counts.put(key, new RFuture<?>[]{
+                    batch.getBucket(String.format(LINK_STATS_PV_KEY, key.fullShortUrl, timeSuffix), StringCodec.INSTANCE).getAsync(),
+                    uv.countAsync(),
+                    uip.countAsync()
+            });
+        });
+        return counts;
+    }
+
+    private static LinkAccessStatsDO buildStats(AccessBucketKey key, RFuture<?>[] counts) {
+        Object pv = counts[0].toCompletableFuture().join();
+        return LinkAccessStatsDO.builder()
+                .gid(key.gid)
+                .fullShortUrl(key.fullShortUrl)
+                .date(java.sql.Date.valueOf(key.date))
+                .hour(key.hour)
+                .pv(pv == null ? 0 : Integer.parseInt(pv.toString()))
+                .uv(((Long) counts[1].toCompletableFuture().join()).intValue())
+                .uip(((Long) counts[2].toCompletableFuture().join()).intValue())
+                .build();
+    }
+
+    /**
+     * 去重集合按消息生成的小时拆分，消息 ID 前半部分为毫秒时间戳
+     */
+    private static String processedSuffix(String messageId) {
+        int index = messageId.indexOf('-');
+        long millis = Long.parseLong(index < 0 ? messageId : messageId.substring(0, index));
+        LocalDateTime time = toLocalDateTime(millis);
+        return time.toLocalDate().format(DAY_FORMATTER) + String.format("%02d", time.getHour());
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private record AccessBucketKey(String fullShortUrl, String gid, LocalDate date, Integer hour) {
+    }
+}
@@ -0,0 +1,232 @@
+package com.kkk.shortlink.project.common.stats;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import com.kkk.shortlink.project.config.ClickNumFlushProperties;
+import com.kkk.shortlink.project.dao.entity.ShortLinkDO;
+import com.kkk.shortlink.project.dao.mapper.ShortLinkMapper;
+import com.kkk.shortlink.project.toolkit.LinkShardingUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * 短链接点击量缓冲计数
+ * 跳转时只在本地 LongAdder 上累加，热点短链接的并发点击不会争抢同一行数据库锁；
+ * 定时或缓冲的短链接数超过阈值时，把增量按 gid 所在分表分组，每个分表一个 JDBC 批次在一个事务内执行 UPDATE 累加，
+ * 批次中途失败时整个分表回滚，不会出现部分已累加、已刷写数却未推进的重复累加。
+ * 计数器只增不清零，刷写时取“当前总数 - 已刷写数”作为增量，写入成功后才推进已刷写数，并发累加和刷写失败都不会丢数
+ */
+@Slf4j
+@Component
+public class ShortLinkClickCounter implements InitializingBean, DisposableBean {
+
+    private static final Log BATCH_LOG = LogFactory.getLog(ShortLinkClickCounter.class);
+
+    /**
+     * 连续多少次刷写没有新增点击后移出缓冲
+     */
+    private static final int IDLE_FLUSHES_BEFORE_RETIRE = 2;
+
+    private final ClickNumFlushProperties clickNumFlushProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<String, ClickCount> clickCounts = new ConcurrentHashMap<>();
+
+    /**
+     * 已移出缓冲的计数，再等待一个刷写周期，确保移出前取到引用的线程已完成累加，再刷写剩余增量
+     */
+    private List<Map.Entry<String, ClickCount>> retiring = new ArrayList<>();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+
+    private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(
+            ThreadFactoryBuilder.create().setNamePrefix("short-link-click-flush-").setDaemon(true).build()
+    );
+
+    private final Timer flushTimer;
+
+    private final DistributionSummary flushBatchSize;
+
+    public ShortLinkClickCounter(ClickNumFlushProperties clickNumFlushProperties,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.clickNumFlushProperties = clickNumFlushProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.flushTimer = Timer.builder("short-link.click-num.flush")
+                .description("点击量缓冲刷写耗时")
+                .register(meterRegistry);
+        this.flushBatchSize = DistributionSummary.builder("short-link.click-num.flush.batch-size")
+                .description("每次刷写更新的短链接数")
+                .register(meterRegistry);
+        Gauge.builder("short-link.click-num.pending-links", clickCounts, Map::size)
+                .description("点击量缓冲中的短链接数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long intervalMillis = clickNumFlushProperties.getFlushInterval().toMillis();
+        flushExecutor.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 累加一次点击
+     *
+     * @param gid          分组标识，刷写时作为分片键
+     * @param fullShortUrl 完整短链接
+     */
+    public void increment(String gid, String fullShortUrl) {
+        ClickCount clickCount = clickCounts.get(fullShortUrl);
+        if (clickCount == null) {
+            clickCount = clickCounts.computeIfAbsent(fullShortUrl, each -> new ClickCount(gid));
+            if (clickCounts.size() >= clickNumFlushProperties.getMaxPendingLinks() && flushRequested.compareAndSet(false, true)) {
+                flushExecutor.execute(this::flushQuietly);
+            }
+        }
+        clickCount.total.increment();
+    }
+
+    /**
+     * 取出上次调用以来各短链接新增的点击量，供实时推送使用，与数据库刷写互不影响；只在同一个线程中调用
+     *
+     * @param gidFilter 只返回需要的分组，其余分组的增量同样推进但不返回
+     * @return 分组标识 -> 完整短链接 -> 新增点击量
+     */
+    public Map<String, Map<String, Long>> drainLiveDeltas(Predicate<String> gidFilter) {
+        Map<String, Map<String, Long>> deltas = new HashMap<>();
+        clickCounts.forEach((fullShortUrl, clickCount) -> {
+            long total = clickCount.total.sum();
+            long delta = total - clickCount.published;
+            if (delta <= 0) {
+                return;
+            }
+            clickCount.published = total;
+            if (gidFilter.test(clickCount.gid)) {
+                deltas.computeIfAbsent(clickCount.gid, key -> new HashMap<>()).put(fullShortUrl, delta);
+            }
+        });
+        return deltas;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            log.error("短链接点击量刷写失败，增量保留到下次刷写", ex);
+        }
+    }
+
+    /**
+     * 只在刷写线程中执行
+     */
+    private void flush() {
+        flushRequested.set(false);
+        long start = System.nanoTime();
+        List<Map.Entry<String, ClickCount>> previousRetiring = retiring;
+        retiring = new ArrayList<>();
+        List<ClickDelta> deltas = new ArrayList<>();
+        for (Map.Entry<String, ClickCount> entry : clickCounts.entrySet()) {
+            ClickCount clickCount = entry.getValue();
+            long delta = clickCount.total.sum() - clickCount.flushed;
+            if (delta > 0) {
+                clickCount.idleFlushes = 0;
+                deltas.add(new ClickDelta(entry.getKey(), clickCount, delta));
+            } else if (++clickCount.idleFlushes >= IDLE_FLUSHES_BEFORE_RETIRE && clickCounts.remove(entry.getKey(), clickCount)) {
+                retiring.add(entry);
+            }
+        }
+        for (Map.Entry<String, ClickCount> entry : previousRetiring) {
+            ClickCount clickCount = entry.getValue();
+            long delta = clickCount.total.sum() - clickCount.flushed;
+            if (delta > 0) {
+                deltas.add(new ClickDelta(entry.getKey(), clickCount, delta));
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<ClickDelta>> shardDeltas = new TreeMap<>();
+        deltas.forEach(each -> shardDeltas.computeIfAbsent(LinkShardingUtil.tableIndex(each.clickCount.gid), key -> new ArrayList<>()).add(each));
+        RuntimeException failure = null;
+        for (List<ClickDelta> each : shardDeltas.values()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> SqlHelper.executeBatch(ShortLinkDO.class, BATCH_LOG, each,
+                        clickNumFlushProperties.getBatchSize(), (sqlSession, delta) ->
+                                sqlSession.getMapper(ShortLinkMapper.class).incrementClickNum(delta.clickCount.gid, delta.fullShortUrl, delta.delta)));
+                each.forEach(delta -> delta.clickCount.flushed += delta.delta);
+            } catch (RuntimeException ex) {
+                //失败分片的增量未推进已刷写数，移出缓冲的计数放回待刷写列表
+                each.stream().filter(delta -> !clickCounts.containsKey(delta.fullShortUrl) || clickCounts.get(delta.fullShortUrl) != delta.clickCount)
+                        .forEach(delta -> retiring.add(Map.entry(delta.fullShortUrl, delta.clickCount)));
+                failure = ex;
+            }
+        }
+        flushBatchSize.record(deltas.size());
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 停机时停止定时刷写并把缓冲中的点击量全部写入数据库
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        //剩余计数全部视为待移出，刷写两次：第一次刷写缓冲中的增量，第二次刷写移出列表中的增量
+        clickCounts.forEach((fullShortUrl, clickCount) -> clickCount.idleFlushes = IDLE_FLUSHES_BEFORE_RETIRE);
+        flushQuietly();
+        flushQuietly();
+    }
+
+    private static final class ClickCount {
+
+        private final String gid;
+
+        private final LongAdder total = new LongAdder();
+
+        /**
+         * 已写入数据库的点击量，只在刷写线程中读写
+         */
+        private long flushed;
+
+        private int idleFlushes;
+
+        /**
+         * 已推送的点击量，只在推送线程中读写
+         */
+        private long published;
+
+        private ClickCount(String gid) {
+            this.gid = gid;
+        }
+    }
+
+    private record ClickDelta(String fullShortUrl, ClickCount clickCount, long delta) {
+    }
+}
@@ -0,0 +1,217 @@
+package com.kkk.shortlink.project.common.stats;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import com.alibaba.fastjson2.JSON;
+import com.kkk.shortlink.project.common.convention.exception.ClientException;
+import com.kkk.shortlink.project.config.ClickStreamProperties;
+import com.kkk.shortlink.project.dto.resp.ShortLinkClickDeltaRespDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 短链接点击增量实时推送
+ * 每个推送间隔从 {@link ShortLinkClickCounter} 取出一次各短链接的新增点击量，按分组合并为一条 SSE 事件；
+ * 每个分组只有一个订阅，事件只序列化一次再写给该分组的所有连接，浏览器标签页数不影响计数读取和序列化开销。
+ * 写连接交给有界的发送线程池，推送线程不被慢连接阻塞；每个连接同一时刻只有一次写入，
+ * 下一次推送时上一次写入仍未完成或发送队列已满的连接直接断开，浏览器重连后重新订阅。
+ * 增量来自本节点的内存计数，多节点部署时只包含经过本节点的点击
+ */
+@Slf4j
+@Component
+public class ShortLinkClickStreamer implements InitializingBean, DisposableBean {
+
+    private static final String EVENT_NAME = "click-delta";
+
+    private final ShortLinkClickCounter shortLinkClickCounter;
+
+    private final ClickStreamProperties clickStreamProperties;
+
+    /**
+     * 分组标识 -> 该分组的订阅连接
+     */
+    private final ConcurrentHashMap<String, List<Subscriber>> subscriptions = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService publishExecutor = Executors.newSingleThreadScheduledExecutor(
+            ThreadFactoryBuilder.create().setNamePrefix("short-link-click-stream-").setDaemon(true).build()
+    );
+
+    private final ExecutorService sendExecutor;
+
+    private final Counter droppedEmitterCounter;
+
+    /**
+     * 上次发送心跳的时间，只在推送线程中读写
+     */
+    private long lastHeartbeatTime = System.currentTimeMillis();
+
+    public ShortLinkClickStreamer(ShortLinkClickCounter shortLinkClickCounter,
+                                  ClickStreamProperties clickStreamProperties,
+                                  MeterRegistry meterRegistry) {
+        this.shortLinkClickCounter = shortLinkClickCounter;
+        this.clickStreamProperties = clickStreamProperties;
+        this.sendExecutor = new ThreadPoolExecutor(
+                clickStreamProperties.getSendThreads(),
+                clickStreamProperties.getSendThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(clickStreamProperties.getSendQueueCapacity()),
+                ThreadFactoryBuilder.create().setNamePrefix("short-link-click-stream-send-").setDaemon(true).build()
+        );
+        this.droppedEmitterCounter = Counter.builder("short-link.click-stream.dropped-emitters")
+                .description("写入超时或发送队列已满而断开的推送连接数")
+                .register(meterRegistry);
+        Gauge.builder("short-link.click-stream.subscribed-groups", subscriptions, Map::size)
+                .description("有实时推送订阅的分组数")
+                .register(meterRegistry);
+        Gauge.builder("short-link.click-stream.emitters", subscriptions, each -> each.values().stream().mapToInt(List::size).sum())
+                .description("实时推送连接数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long intervalMillis = clickStreamProperties.getPublishInterval().toMillis();
+        publishExecutor.scheduleWithFixedDelay(this::publishQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 订阅分组的点击增量
+     */
+    public SseEmitter subscribe(String gid) {
+        SseEmitter emitter = new SseEmitter(clickStreamProperties.getEmitterTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(gid, emitter);
+        subscriptions.compute(gid, (key, subscribers) -> {
+            List<Subscriber> actual = subscribers == null ? new CopyOnWriteArrayList<>() : subscribers;
+            if (actual.size() >= clickStreamProperties.getMaxEmittersPerGid()) {
+                throw new ClientException("分组实时推送连接数已达上限");
+            }
+            actual.add(subscriber);
+            return actual;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(ex -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriptions.computeIfPresent(subscriber.gid, (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private void publishQuietly() {
+        try {
+            publish();
+        } catch (Exception ex) {
+            log.error("短链接点击增量推送失败", ex);
+        }
+    }
+
+    /**
+     * 只在推送线程中执行
+     */
+    void publish() {
+        //没有订阅的分组同样推进已推送位置，新订阅只收到订阅之后的点击
+        Map<String, Map<String, Long>> deltas = shortLinkClickCounter.drainLiveDeltas(subscriptions::containsKey);
+        long now = System.currentTimeMillis();
+        deltas.forEach((gid, linkDeltas) -> {
+            List<Subscriber> subscribers = subscriptions.get(gid);
+            if (subscribers == null) {
+                return;
+            }
+            String payload = JSON.toJSONString(ShortLinkClickDeltaRespDTO.builder()
+                    .gid(gid)
+                    .timestamp(now)
+                    .deltas(linkDeltas)
+                    .build());
+            subscribers.forEach(subscriber -> dispatch(subscriber, SseEmitter.event().name(EVENT_NAME).data(payload, MediaType.APPLICATION_JSON)));
+        });
+        if (now - lastHeartbeatTime >= clickStreamProperties.getHeartbeatInterval().toMillis()) {
+            lastHeartbeatTime = now;
+            subscriptions.values().forEach(subscribers -> subscribers.forEach(subscriber -> dispatch(subscriber, SseEmitter.event().comment("heartbeat"))));
+        }
+    }
+
+    /**
+     * 把一次写入交给发送线程池，只在推送线程中调用；上一次写入仍未完成说明连接写不动了，直接断开
+     */
+    private void dispatch(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.sending) {
+            drop(subscriber, new IOException("上一次推送在一个推送间隔内未写完"));
+            return;
+        }
+        subscriber.sending = true;
+        try {
+            sendExecutor.execute(() -> send(subscriber, event));
+        } catch (RejectedExecutionException ex) {
+            subscriber.sending = false;
+            drop(subscriber, ex);
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+        } catch (IOException | IllegalStateException ex) {
+            //连接已断开，立即移除，不等容器回调
+            unsubscribe(subscriber);
+            subscriber.emitter.completeWithError(ex);
+        } finally {
+            subscriber.sending = false;
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        droppedEmitterCounter.increment();
+        log.warn("断开写入过慢的实时推送连接，分组：{}，原因：{}", subscriber.gid, cause.getMessage());
+        unsubscribe(subscriber);
+        subscriber.emitter.completeWithError(cause);
+    }
+
+    @Override
+    public void destroy() {
+        publishExecutor.shutdownNow();
+        sendExecutor.shutdownNow();
+        subscriptions.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        subscriptions.clear();
+    }
+
+    private static final class Subscriber {
+
+        private final String gid;
+
+        private final SseEmitter emitter;
+
+        /**
+         * 是否有写入正在进行，推送线程置位，发送线程写完后清除
+         */
+        private volatile boolean sending;
+
+        private Subscriber(String gid, SseEmitter emitter) {
+            this.gid = gid;
+            this.emitter = emitter;
+        }
+    }
+}
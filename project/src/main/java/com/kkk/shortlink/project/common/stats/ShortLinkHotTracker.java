@@ -0,0 +1,185 @@
+package com.kkk.shortlink.project.common.stats;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import com.kkk.shortlink.project.config.HotLinkProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 热点短链接统计
+ * 跳转时在 Count-Min Sketch 上累加访问次数，取各行计数的最小值作为估计值，只会高估不会低估；
+ * 估计值超过当前 Top-K 最小值的短链接进入热点集合并挤出最冷的一个。所有计数按衰减周期减半，热点随近期访问量变化。
+ * 内存占用只与 Sketch 尺寸和 K 有关，与短链接总数无关
+ */
+@Slf4j
+@Component
+public class ShortLinkHotTracker implements InitializingBean, DisposableBean {
+
+    private final HotLinkProperties hotLinkProperties;
+
+    private final int width;
+
+    private final int depth;
+
+    private final AtomicLongArray sketch;
+
+    private final ConcurrentHashMap<String, HotLink> hotLinks = new ConcurrentHashMap<>();
+
+    /**
+     * 热点集合已满时其中最小的估计值，估计值不超过该值的访问无需加锁
+     */
+    private volatile long admissionThreshold;
+
+    private final ScheduledExecutorService decayExecutor = Executors.newSingleThreadScheduledExecutor(
+            ThreadFactoryBuilder.create().setNamePrefix("short-link-hot-decay-").setDaemon(true).build()
+    );
+
+    private final Counter admittedCounter;
+
+    public ShortLinkHotTracker(HotLinkProperties hotLinkProperties, MeterRegistry meterRegistry) {
+        this.hotLinkProperties = hotLinkProperties;
+        this.width = Integer.highestOneBit(Math.max(hotLinkProperties.getSketchWidth() - 1, 1)) << 1;
+        this.depth = hotLinkProperties.getSketchDepth();
+        this.sketch = new AtomicLongArray(width * depth);
+        this.admittedCounter = Counter.builder("short-link.hot.admitted")
+                .description("进入热点集合的短链接次数")
+                .register(meterRegistry);
+        Gauge.builder("short-link.hot.threshold", this, each -> each.admissionThreshold)
+                .description("进入热点集合需要超过的估计访问次数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long intervalMillis = hotLinkProperties.getDecayInterval().toMillis();
+        decayExecutor.scheduleWithFixedDelay(this::decayQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 记录一次访问
+     *
+     * @return 本次访问使短链接新进入热点集合时返回 true
+     */
+    public boolean record(String gid, String fullShortUrl) {
+        long hash = MurmurHash.hash64(fullShortUrl);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            int index = i * width + ((hash1 + i * hash2) & (width - 1));
+            estimate = Math.min(estimate, sketch.incrementAndGet(index));
+        }
+        HotLink hotLink = hotLinks.get(fullShortUrl);
+        if (hotLink != null) {
+            hotLink.hits = estimate;
+            return false;
+        }
+        if (estimate <= admissionThreshold) {
+            return false;
+        }
+        return admit(gid, fullShortUrl, estimate);
+    }
+
+    private synchronized boolean admit(String gid, String fullShortUrl, long estimate) {
+        if (hotLinks.containsKey(fullShortUrl)) {
+            return false;
+        }
+        if (hotLinks.size() >= hotLinkProperties.getTopK()) {
+            HotLink coldest = coldest();
+            if (coldest.hits >= estimate) {
+                admissionThreshold = coldest.hits;
+                return false;
+            }
+            hotLinks.remove(coldest.fullShortUrl);
+        }
+        hotLinks.put(fullShortUrl, new HotLink(gid, fullShortUrl, estimate));
+        refreshAdmissionThreshold();
+        admittedCounter.increment();
+        return true;
+    }
+
+    /**
+     * 是否为当前热点短链接
+     */
+    public boolean isHot(String fullShortUrl) {
+        return hotLinks.containsKey(fullShortUrl);
+    }
+
+    /**
+     * 当前热点短链接，按估计访问次数降序
+     */
+    public List<HotLink> topK() {
+        return hotLinks.values().stream()
+                .sorted(Comparator.comparingLong(HotLink::getHits).reversed())
+                .toList();
+    }
+
+    private void decayQuietly() {
+        try {
+            decay();
+        } catch (Exception ex) {
+            log.error("热点短链接计数衰减失败", ex);
+        }
+    }
+
+    /**
+     * 所有计数减半，衰减到零的短链接移出热点集合
+     */
+    synchronized void decay() {
+        for (int i = 0; i < sketch.length(); i++) {
+            sketch.updateAndGet(i, each -> each >>> 1);
+        }
+        hotLinks.values().removeIf(each -> (each.hits >>>= 1) == 0);
+        refreshAdmissionThreshold();
+    }
+
+    private HotLink coldest() {
+        return hotLinks.values().stream().min(Comparator.comparingLong(HotLink::getHits)).orElseThrow();
+    }
+
+    private void refreshAdmissionThreshold() {
+        admissionThreshold = hotLinks.size() < hotLinkProperties.getTopK() ? 0 : coldest().hits;
+    }
+
+    @Override
+    public void destroy() {
+        decayExecutor.shutdownNow();
+    }
+
+    /**
+     * 热点短链接
+     */
+    @Getter
+    public static final class HotLink {
+
+        private final String gid;
+
+        private final String fullShortUrl;
+
+        /**
+         * 衰减后的估计访问次数，访问线程无锁更新
+         */
+        private volatile long hits;
+
+        private HotLink(String gid, String fullShortUrl, long hits) {
+            this.gid = gid;
+            this.fullShortUrl = fullShortUrl;
+            this.hits = hits;
+        }
+    }
+}
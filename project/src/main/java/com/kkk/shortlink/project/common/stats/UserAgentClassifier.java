@@ -0,0 +1,70 @@
+package com.kkk.shortlink.project.common.stats;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.http.useragent.UserAgent;
+import cn.hutool.http.useragent.UserAgentUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kkk.shortlink.project.config.LinkStatsProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * User-Agent 分类
+ * 按正则逐项匹配浏览器、操作系统与设备开销较大，而真实流量中不同的 User-Agent 很少，
+ * 解析结果按原始 User-Agent 缓存在有界本地缓存中。只在统计消费线程中调用，不占用跳转请求线程
+ */
+@Component
+public class UserAgentClassifier {
+
+    public static final String UNKNOWN = "Unknown";
+
+    private static final UserAgentClassification UNKNOWN_CLASSIFICATION = new UserAgentClassification(UNKNOWN, UNKNOWN, UNKNOWN);
+
+    private final Cache<String, UserAgentClassification> cache;
+
+    public UserAgentClassifier(LinkStatsProperties linkStatsProperties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(linkStatsProperties.getUserAgentCacheMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "short-link.user-agent");
+        Gauge.builder("short-link.user-agent.hit-ratio", cache, each -> each.stats().hitRate())
+                .description("User-Agent 解析缓存命中率")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 解析 User-Agent，为空或无法识别的部分为 {@link #UNKNOWN}
+     */
+    public UserAgentClassification classify(String userAgent) {
+        if (StrUtil.isBlank(userAgent)) {
+            return UNKNOWN_CLASSIFICATION;
+        }
+        return cache.get(userAgent, UserAgentClassifier::parse);
+    }
+
+    private static UserAgentClassification parse(String userAgent) {
+        UserAgent parsed = UserAgentUtil.parse(userAgent);
+        if (parsed == null) {
+            return UNKNOWN_CLASSIFICATION;
+        }
+        return new UserAgentClassification(
+                parsed.getBrowser() == null ? UNKNOWN : parsed.getBrowser().getName(),
+                parsed.getOs() == null ? UNKNOWN : parsed.getOs().getName(),
+                parsed.isMobile() ? "Mobile" : "PC"
+        );
+    }
+
+    /**
+     * User-Agent 分类结果
+     *
+     * @param browser 浏览器
+     * @param os      操作系统
+     * @param device  设备类型，Mobile 或 PC
+     */
+    public record UserAgentClassification(String browser, String os, String device) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.kkk.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 短链接原始访问日志配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.access-log")
+public class AccessLogProperties {
+
+    /**
+     * 是否记录原始访问日志
+     */
+    private Boolean enabled = Boolean.FALSE;
+
+    /**
+     * 日志段文件目录
+     */
+    private String dir = "data/access-log";
+
+    /**
+     * 每个日志段文件可容纳的记录数，文件大小为该值乘以单条记录 1KB
+     */
+    private Integer segmentRecords = 65536;
+
+    /**
+     * 日志段写入后超过该时间仍未写满时也关闭，供后台加载入库
+     */
+    private Duration maxSegmentAge = Duration.ofSeconds(30);
+
+    /**
+     * 已关闭待加载的日志段数上限，达到上限后当前日志段写满即丢弃新记录，磁盘占用最多为上限加两个日志段
+     */
+    private Integer maxBacklogSegments = 64;
+
+    /**
+     * 后台加载已关闭日志段的间隔
+     */
+    private Duration loadInterval = Duration.ofSeconds(5);
+
+    /**
+     * 每个 JDBC 批次的写入条数
+     */
+    private Integer batchSize = 1000;
+}
@@ -0,0 +1,31 @@
+package com.kkk.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 布隆过滤器本地镜像配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.bloom-filter-mirror")
+public class BloomFilterMirrorProperties {
+
+    /**
+     * 是否开启本地镜像，默认关闭；开启后每个节点堆内常驻一份与 Redis 位图等大的位数组，需按位图大小预留堆内存
+     */
+    private Boolean enabled = Boolean.FALSE;
+
+    /**
+     * 全量同步时每次 GETRANGE 读取的字节数
+     */
+    private Integer bootstrapChunkBytes = 4 * 1024 * 1024;
+
+    /**
+     * 定期全量同步间隔，修复订阅断开期间丢失的增量消息；每次同步读取整个位图，订阅重连时也会同步一次
+     */
+    private Duration resyncInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,39 @@
+package com.kkk.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 爬虫与链接预览机器人过滤配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.bot-filter")
+public class BotFilterProperties {
+
+    /**
+     * 是否开启过滤，命中的请求正常跳转，但不计入点击量与访问统计
+     */
+    private Boolean enabled = Boolean.TRUE;
+
+    /**
+     * User-Agent 特征片段，忽略大小写包含匹配，只能包含 ASCII 字符；
+     * 默认只包含爬虫与链接预览机器人自己声明的标识，不包含可能出现在真实用户请求中的片段（如 App 内置的 HTTP 客户端）
+     */
+    private List<String> signatures = new ArrayList<>(List.of(
+            "bot/", "bot;", "bot)", "crawler", "spider", "slurp",
+            "facebookexternalhit", "facebookcatalog", "whatsapp", "telegrambot", "slackbot", "slack-imgproxy",
+            "discordbot", "twitterbot", "linkedinbot", "skypeuripreview", "embedly", "quora link preview",
+            "pinterestbot", "pinterest.com/bot", "vkshare", "redditbot", "applebot", "bingpreview", "google-inspectiontool",
+            "headlesschrome"
+    ));
+
+    /**
+     * 追加的特征片段，与 {@link #signatures} 合并匹配；通用 HTTP 客户端（如 curl/、python-requests、okhttp）按需在这里开启
+     */
+    private List<String> additionalSignatures = new ArrayList<>();
+}
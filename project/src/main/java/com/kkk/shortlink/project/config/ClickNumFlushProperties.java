@@ -0,0 +1,31 @@
+package com.kkk.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 短链接点击量缓冲配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.click-num")
+public class ClickNumFlushProperties {
+
+    /**
+     * 定时刷写间隔
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    /**
+     * 缓冲中的短链接数达到该值时提前刷写
+     */
+    private Integer maxPendingLinks = 10000;
+
+    /**
+     * 每个 JDBC 批次的 UPDATE 条数
+     */
+    private Integer batchSize = 500;
+}
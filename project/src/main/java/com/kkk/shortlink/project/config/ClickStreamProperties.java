@@ -0,0 +1,46 @@
+package com.kkk.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 短链接点击量实时推送配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.click-stream")
+public class ClickStreamProperties {
+
+    /**
+     * 推送间隔，每个间隔把各分组的点击增量合并为一条事件
+     */
+    private Duration publishInterval = Duration.ofSeconds(1);
+
+    /**
+     * 无点击时发送心跳的间隔，用于及时发现已断开的连接
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * 单个连接最长保持时间，到期后浏览器自动重连
+     */
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+
+    /**
+     * 单个分组最多的订阅连接数
+     */
+    private Integer maxEmittersPerGid = 100;
+
+    /**
+     * 写连接的发送线程数，写入阻塞的连接只占用发送线程，推送线程与其他分组不受影响
+     */
+    private Integer sendThreads = 4;
+
+    /**
+     * 发送线程池的等待队列长度，队列已满时新写入的连接直接断开
+     */
+    private Integer sendQueueCapacity = 10000;
+}
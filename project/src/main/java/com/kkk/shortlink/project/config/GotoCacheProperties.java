@@ -0,0 +1,51 @@
+package com.kkk.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 短链接跳转缓存配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.goto-cache")
+public class GotoCacheProperties {
+
+    /**
+     * 本地缓存最大条目数
+     */
+    private Long localMaximumSize = 100000L;
+
+    /**
+     * 本地缓存写入后过期时间
+     */
+    private Duration localExpireAfterWrite = Duration.ofMinutes(5);
+
+    /**
+     * Redis 缓存默认有效期，短链接自定义有效期更短时以有效期为准
+     */
+    private Duration redisTimeToLive = Duration.ofDays(1);
+
+    /**
+     * 空值缓存最大条目数
+     */
+    private Long nullLocalMaximumSize = 100000L;
+
+    /**
+     * 空值缓存有效期，本地与 Redis 共用，不宜过长以免新建短链接短时间内无法访问
+     */
+    private Duration nullTimeToLive = Duration.ofSeconds(30);
+
+    /**
+     * 是否在回源前加分布式锁，合并多个节点对同一短链接的缓存重建
+     */
+    private Boolean distributedLockEnabled = Boolean.FALSE;
+
+    /**
+     * 分布式锁最长等待时间，超时后不再等待直接回源
+     */
+    private Duration distributedLockWaitTime = Duration.ofSeconds(3);
+}
@@ -0,0 +1,36 @@
+package com.kkk.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 热点短链接统计配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.hot-link")
+public class HotLinkProperties {
+
+    /**
+     * 维护的热点短链接数，同时也是本地跳转缓存中常驻的条目数
+     */
+    private Integer topK = 100;
+
+    /**
+     * Count-Min Sketch 每行计数器数，向上取整为 2 的幂
+     */
+    private Integer sketchWidth = 4096;
+
+    /**
+     * Count-Min Sketch 行数，即哈希函数个数
+     */
+    private Integer sketchDepth = 4;
+
+    /**
+     * 衰减周期，每个周期所有计数减半，计数以该周期为半衰期反映近期访问量
+     */
+    private Duration decayInterval = Duration.ofMinutes(1);
+}
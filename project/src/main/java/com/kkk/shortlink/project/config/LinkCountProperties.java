@@ -0,0 +1,41 @@
+package com.kkk.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 分组短链接数计数配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.link-count")
+public class LinkCountProperties {
+
+    /**
+     * Redis 计数有效期，过期后下次查询重新从数据库统计
+     */
+    private Duration redisTimeToLive = Duration.ofDays(7);
+
+    /**
+     * 是否开启定时对账
+     */
+    private Boolean reconcileEnabled = Boolean.TRUE;
+
+    /**
+     * 启动后首次对账的延迟
+     */
+    private Duration reconcileInitialDelay = Duration.ofMinutes(5);
+
+    /**
+     * 对账间隔，多节点部署时同一时刻只有一个节点执行
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(30);
+
+    /**
+     * 同一分表内每次对账的分组数
+     */
+    private Integer reconcileGidBatchSize = 200;
+}
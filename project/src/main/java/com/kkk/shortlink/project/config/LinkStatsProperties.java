@@ -0,0 +1,86 @@
+package com.kkk.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 短链接访问统计配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats")
+public class LinkStatsProperties {
+
+    /**
+     * 访问事件 Stream 近似最大长度，超出后裁剪最早的消息
+     */
+    private Integer streamMaxLength = 1000000;
+
+    /**
+     * 消费线程数，每个线程是消费者组中的一个消费者
+     */
+    private Integer consumerThreads = 1;
+
+    /**
+     * 每次从 Stream 读取并聚合的最大消息数
+     */
+    private Integer consumeBatchSize = 500;
+
+    /**
+     * 无新消息时阻塞读取的等待时间
+     */
+    private Duration consumeBlockTimeout = Duration.ofSeconds(2);
+
+    /**
+     * 消息投递后超过该时间仍未确认时，由其他消费者认领重新处理
+     */
+    private Duration pendingIdleTimeout = Duration.ofMinutes(1);
+
+    /**
+     * 每个 JDBC 批次的写入条数
+     */
+    private Integer batchSize = 500;
+
+    /**
+     * Redis 中 PV 计数、UV/UIP HyperLogLog 与消息去重记录的有效期，需覆盖统计桶所在的整个自然日及消息重放窗口
+     */
+    private Duration redisTimeToLive = Duration.ofDays(2);
+
+    /**
+     * Redis 中月 PV 计数与月 UV/UIP HyperLogLog 的有效期，需覆盖整个自然月及消息重放窗口
+     */
+    private Duration monthRedisTimeToLive = Duration.ofDays(33);
+
+    /**
+     * User-Agent 解析缓存最大条目数
+     */
+    private Long userAgentCacheMaximumSize = 10000L;
+
+    /**
+     * 统计查询线程数，多个分组或分表的查询在该线程池中并行执行
+     */
+    private Integer queryThreads = 8;
+
+    /**
+     * 统计查询线程池队列容量，队列满时由调用线程执行
+     */
+    private Integer queryQueueCapacity = 1000;
+
+    /**
+     * 单次分组统计查询最多的分组数
+     */
+    private Integer groupStatsMaxGids = 100;
+
+    /**
+     * 分组统计本地缓存有效期
+     */
+    private Duration groupStatsCacheTimeToLive = Duration.ofSeconds(30);
+
+    /**
+     * 分组统计本地缓存最大分组数
+     */
+    private Long groupStatsCacheMaximumSize = 10000L;
+}
@@ -0,0 +1,41 @@
+package com.kkk.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 短链接搜索本地索引配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.search-index")
+public class SearchIndexProperties {
+
+    /**
+     * 本地索引的短链接总数上限，超出后淘汰最近最少查询的分组索引
+     */
+    private Long maximumDocuments = 1000000L;
+
+    /**
+     * 单个分组可建索引的短链接数上限，超出的分组在有效期内直接拒绝搜索，不再反复从数据库重建；不大于 maximumDocuments
+     */
+    private Long maxGroupDocuments = 200000L;
+
+    /**
+     * 分组索引加载后的有效期，增量更新不延长有效期，到期后下次查询从数据库重建，修复订阅断开期间丢失的变更通知
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(30);
+
+    /**
+     * 重建索引时每批从数据库读取的行数
+     */
+    private Integer rebuildBatchSize = 1000;
+
+    /**
+     * 单页最大条数
+     */
+    private Integer maxPageSize = 100;
+}
@@ -0,0 +1,67 @@
+package com.kkk.shortlink.project.config;
+
+import com.kkk.shortlink.project.common.bloom.LocalBloomFilterMirror;
+import com.kkk.shortlink.project.common.bloom.RedissonBloomFilterBatch;
+import com.kkk.shortlink.project.common.convention.exception.ServiceException;
+import com.kkk.shortlink.project.common.enums.ShortUriGenerateModeEnum;
+import com.kkk.shortlink.project.dao.mapper.ShortUriSegmentMapper;
+import com.kkk.shortlink.project.toolkit.suffix.HashShortUriGenerator;
+import com.kkk.shortlink.project.toolkit.suffix.SegmentIdAllocator;
+import com.kkk.shortlink.project.toolkit.suffix.SegmentShortUriGenerator;
+import com.kkk.shortlink.project.toolkit.suffix.ShortUriGenerator;
+import org.redisson.api.RBloomFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 短链接后缀生成器配置
+ */
+@Configuration
+public class ShortUriGeneratorConfiguration {
+
+    /**
+     * 号段表中短链接后缀对应的业务标识
+     */
+    private static final String SEGMENT_BIZ_TAG = "short-uri";
+
+    /**
+     * 按 short-link.suffix.mode 选择后缀生成器
+     */
+    @Bean
+    public ShortUriGenerator shortUriGenerator(ShortUriGeneratorProperties shortUriGeneratorProperties,
+                                               RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter,
+                                               RedissonBloomFilterBatch redissonBloomFilterBatch,
+                                               LocalBloomFilterMirror localBloomFilterMirror,
+                                               BloomFilterMirrorProperties bloomFilterMirrorProperties,
+                                               ShortUriSegmentMapper shortUriSegmentMapper,
+                                               TransactionTemplate transactionTemplate) {
+        if (shortUriGeneratorProperties.getMode() == ShortUriGenerateModeEnum.SEGMENT) {
+            //号段上限持久化在数据库，不随缓存丢失而回退；号段记录不存在时拒绝分配，不从 0 开始重新发号
+            SegmentIdAllocator segmentIdAllocator = new SegmentIdAllocator(
+                    step -> transactionTemplate.execute(status -> {
+                        if (shortUriSegmentMapper.increaseMaxId(SEGMENT_BIZ_TAG, step) == 0) {
+                            throw new ServiceException("短链接号段记录不存在，请先初始化 t_short_uri_segment");
+                        }
+                        return shortUriSegmentMapper.selectMaxId(SEGMENT_BIZ_TAG);
+                    }),
+                    shortUriGeneratorProperties.getSegmentStep(),
+                    shortUriGeneratorProperties.getSegmentPrefetchRatio()
+            );
+            return new SegmentShortUriGenerator(segmentIdAllocator);
+        }
+        if (bloomFilterMirrorProperties.getEnabled()) {
+            //本地镜像判定不存在时不再访问 Redis
+            return new HashShortUriGenerator(
+                    localBloomFilterMirror::contains,
+                    localBloomFilterMirror::containsAll,
+                    shortUriGeneratorProperties.getHashFixedWidth()
+            );
+        }
+        return new HashShortUriGenerator(
+                shortUriCreateCachePenetrationBloomFilter::contains,
+                redissonBloomFilterBatch::containsAll,
+                shortUriGeneratorProperties.getHashFixedWidth()
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package com.kkk.shortlink.project.config;
+
+import com.kkk.shortlink.project.common.enums.ShortUriGenerateModeEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接后缀生成配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.suffix")
+public class ShortUriGeneratorProperties {
+
+    /**
+     * 生成模式
+     */
+    private ShortUriGenerateModeEnum mode = ShortUriGenerateModeEnum.HASH;
+
+    /**
+     * 哈希模式是否生成定长 6 位后缀，关闭时为兼容模式，与历史版本生成的后缀一致
+     */
+    private Boolean hashFixedWidth = Boolean.FALSE;
+
+    /**
+     * 号段模式每次申请的号段步长
+     */
+    private Long segmentStep = 1000L;
+
+    /**
+     * 号段模式当前号段剩余比例低于该值时异步预取下一号段
+     */
+    private Double segmentPrefetchRatio = 0.2;
+}
@@ -0,0 +1,66 @@
+package com.kkk.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 访问统计保留与压缩配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats-compaction")
+public class StatsCompactionProperties {
+
+    /**
+     * 是否开启定时压缩
+     */
+    private Boolean enabled = Boolean.TRUE;
+
+    /**
+     * 启动后首次执行的延迟
+     */
+    private Duration initialDelay = Duration.ofMinutes(10);
+
+    /**
+     * 执行间隔，多节点部署时同一时刻只有一个节点执行
+     */
+    private Duration interval = Duration.ofHours(6);
+
+    /**
+     * 小时统计保留时长，超出后汇总到日统计并删除，为 0 时永久保留
+     */
+    private Duration hourRetention = Duration.ofDays(30);
+
+    /**
+     * 日统计保留时长，超出的整月汇总到月统计并删除，为 0 时永久保留
+     */
+    private Duration dayRetention = Duration.ofDays(400);
+
+    /**
+     * 月统计保留时长，超出后直接删除，为 0 时永久保留
+     */
+    private Duration monthRetention = Duration.ZERO;
+
+    /**
+     * 每次删除的最大行数，按主键删除，单条 DELETE 持锁时间短
+     */
+    private Integer deleteChunkSize = 1000;
+
+    /**
+     * 每次按分组标识顺序查询的待压缩分组数，查出的分组再按所在分表分批处理
+     */
+    private Integer gidScanSize = 1000;
+
+    /**
+     * 同一分表内每次处理的分组数
+     */
+    private Integer gidBatchSize = 50;
+
+    /**
+     * 两次删除之间的停顿，给在线写入让出行锁与复制带宽
+     */
+    private Duration deleteChunkPause = Duration.ofMillis(20);
+}
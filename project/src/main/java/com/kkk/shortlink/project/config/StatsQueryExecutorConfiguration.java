@@ -0,0 +1,37 @@
+package com.kkk.shortlink.project.config;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统计查询线程池配置
+ */
+@Configuration
+public class StatsQueryExecutorConfiguration {
+
+    /**
+     * 多分组、多分表统计查询并行执行的有界线程池，队列满时由调用线程执行，并发查询数不超过线程数加调用线程数
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService statsQueryExecutor(LinkStatsProperties linkStatsProperties, MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                linkStatsProperties.getQueryThreads(),
+                linkStatsProperties.getQueryThreads(),
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(linkStatsProperties.getQueryQueueCapacity()),
+                ThreadFactoryBuilder.create().setNamePrefix("short-link-stats-query-").setDaemon(true).build(),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "short-link.stats-query");
+    }
+}
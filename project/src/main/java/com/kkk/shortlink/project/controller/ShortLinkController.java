@@ -4,15 +4,29 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.kkk.shortlink.project.common.convention.result.Result;
 import com.kkk.shortlink.project.common.convention.result.Results;
 import com.kkk.shortlink.project.dto.req.ShortLinkCreateReqDTO;
+import com.kkk.shortlink.project.dto.req.ShortLinkCursorPageReqDTO;
 import com.kkk.shortlink.project.dto.req.ShortLinkPageReqDTO;
+import com.kkk.shortlink.project.dto.req.ShortLinkSearchReqDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.kkk.shortlink.project.dto.resp.ShortLinkCreateRespDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkCursorPageRespDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkGroupCountRespDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkHotRespDTO;
 import com.kkk.shortlink.project.dto.resp.ShortLinkPageRespDTO;
 import com.kkk.shortlink.project.service.ShortLinkService;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 /**
  * 短链接控制层
@@ -23,6 +37,14 @@ public class ShortLinkController {
 
     private final ShortLinkService shortLinkService;
 
+    /**
+     * 短链接跳转原始链接
+     */
+    @GetMapping("/{short-uri}")
+    public void restoreUrl(@PathVariable("short-uri") String shortUri, ServletRequest request, ServletResponse response) {
+        shortLinkService.restoreUrl(shortUri, request, response);
+    }
+
     /**
      * 创建短链接
      */
@@ -31,6 +53,14 @@ public class ShortLinkController {
         return Results.success(shortLinkService.createShortLink(requestParam));
     }
 
+    /**
+     * 批量创建短链接
+     */
+    @PostMapping("/api/short-link/v1/create/batch")
+    public Result<ShortLinkBatchCreateRespDTO> batchCreateShortLink(@RequestBody List<ShortLinkCreateReqDTO> requestParam) {
+        return Results.success(shortLinkService.batchCreateShortLink(requestParam));
+    }
+
     /**
      * 短链接分页查询
      */
@@ -38,4 +68,44 @@ public class ShortLinkController {
     public Result<IPage<ShortLinkPageRespDTO>> pageShortLink(ShortLinkPageReqDTO requestParam) {
         return Results.success(shortLinkService.pageShortLink(requestParam));
     }
+
+    /**
+     * 短链接游标分页查询，深翻页耗时不随页码增长
+     */
+    @GetMapping("/api/short-link/v1/page/cursor")
+    public Result<ShortLinkCursorPageRespDTO> cursorPageShortLink(ShortLinkCursorPageReqDTO requestParam) {
+        return Results.success(shortLinkService.cursorPageShortLink(requestParam));
+    }
+
+    /**
+     * 按原始链接与描述片段搜索分组内的短链接
+     */
+    @GetMapping("/api/short-link/v1/search")
+    public Result<IPage<ShortLinkPageRespDTO>> searchShortLink(ShortLinkSearchReqDTO requestParam) {
+        return Results.success(shortLinkService.searchShortLink(requestParam));
+    }
+
+    /**
+     * 批量查询分组短链接数
+     */
+    @GetMapping("/api/short-link/v1/count")
+    public Result<List<ShortLinkGroupCountRespDTO>> listGroupShortLinkCount(@RequestParam("gids") List<String> gids) {
+        return Results.success(shortLinkService.listGroupShortLinkCount(gids));
+    }
+
+    /**
+     * 查询本节点的热点短链接
+     */
+    @GetMapping("/api/short-link/v1/hot")
+    public Result<List<ShortLinkHotRespDTO>> listHotShortLink() {
+        return Results.success(shortLinkService.listHotShortLink());
+    }
+
+    /**
+     * 订阅分组内短链接的实时点击增量，替代轮询分页查询
+     */
+    @GetMapping(value = "/api/short-link/v1/click-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeClickDelta(@RequestParam("gid") String gid) {
+        return shortLinkService.subscribeClickDelta(gid);
+    }
 }
@@ -0,0 +1,40 @@
+package com.kkk.shortlink.project.controller;
+
+import com.kkk.shortlink.project.common.convention.result.Result;
+import com.kkk.shortlink.project.common.convention.result.Results;
+import com.kkk.shortlink.project.dto.req.ShortLinkStatsReqDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkGroupStatsRespDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkStatsRespDTO;
+import com.kkk.shortlink.project.service.LinkAccessStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 短链接访问统计控制层
+ */
+@RestController
+@RequiredArgsConstructor
+public class ShortLinkStatsController {
+
+    private final LinkAccessStatsService linkAccessStatsService;
+
+    /**
+     * 查询单个短链接或整个分组指定日期范围内的访问统计
+     */
+    @GetMapping("/api/short-link/v1/stats")
+    public Result<ShortLinkStatsRespDTO> shortLinkStats(ShortLinkStatsReqDTO requestParam) {
+        return Results.success(linkAccessStatsService.queryStats(requestParam));
+    }
+
+    /**
+     * 查询一个或多个分组下全部短链接的累计访问统计
+     */
+    @GetMapping("/api/short-link/v1/stats/group")
+    public Result<List<ShortLinkGroupStatsRespDTO>> groupStats(@RequestParam("gids") List<String> gids) {
+        return Results.success(linkAccessStatsService.listGroupStats(gids));
+    }
+}
@@ -0,0 +1,61 @@
+package com.kkk.shortlink.project.dao.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.kkk.shortlink.project.common.database.BaseDO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 短链接原始访问日志实体，与 t_link 一样按 gid 分片
+ */
+@Data
+@TableName("t_link_access_logs")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LinkAccessLogDO extends BaseDO {
+
+    /**
+     * ID
+     */
+    private Long id;
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 完整短链接
+     */
+    private String fullShortUrl;
+
+    /**
+     * 访客标识
+     */
+    private String uv;
+
+    /**
+     * 访客 IP
+     */
+    private String ip;
+
+    /**
+     * User-Agent
+     */
+    private String userAgent;
+
+    /**
+     * 来源页面
+     */
+    private String referer;
+
+    /**
+     * 访问时间
+     */
+    private Date accessTime;
+}
@@ -0,0 +1,62 @@
+package com.kkk.shortlink.project.dao.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.kkk.shortlink.project.common.database.BaseDO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 短链接访问统计实体
+ * 小时统计存 t_link_access_stats，日统计存 t_link_access_stats_day，月统计存 t_link_access_stats_month，均与 t_link 一样按 gid 分片
+ */
+@Data
+@TableName("t_link_access_stats")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LinkAccessStatsDO extends BaseDO {
+
+    /**
+     * ID
+     */
+    private Long id;
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 完整短链接
+     */
+    private String fullShortUrl;
+
+    /**
+     * 日期，月统计为当月第一天
+     */
+    private Date date;
+
+    /**
+     * 小时，日、月统计不使用
+     */
+    private Integer hour;
+
+    /**
+     * 访问量
+     */
+    private Integer pv;
+
+    /**
+     * 独立访客数，HyperLogLog 估算
+     */
+    private Integer uv;
+
+    /**
+     * 独立 IP 数，HyperLogLog 估算
+     */
+    private Integer uip;
+}
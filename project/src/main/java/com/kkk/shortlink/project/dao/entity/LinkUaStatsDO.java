@@ -0,0 +1,56 @@
+package com.kkk.shortlink.project.dao.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.kkk.shortlink.project.common.database.BaseDO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 短链接浏览器、操作系统、设备日访问统计实体，与 t_link 一样按 gid 分片
+ */
+@Data
+@TableName("t_link_ua_stats")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LinkUaStatsDO extends BaseDO {
+
+    /**
+     * ID
+     */
+    private Long id;
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 完整短链接
+     */
+    private String fullShortUrl;
+
+    /**
+     * 日期
+     */
+    private Date date;
+
+    /**
+     * 统计维度 browser 浏览器 os 操作系统 device 设备类型
+     */
+    private String type;
+
+    /**
+     * 维度取值，如 Chrome、Windows、Mobile
+     */
+    private String name;
+
+    /**
+     * 访问量
+     */
+    private Integer cnt;
+}
@@ -0,0 +1,34 @@
+package com.kkk.shortlink.project.dao.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接跳转路由实体
+ * 按完整短链接分片，通过完整短链接定位所属分组，避免按完整短链接查询 t_link 时广播到全部分表
+ */
+@Data
+@TableName("t_link_goto")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShortLinkGotoDO {
+
+    /**
+     * ID
+     */
+    private Long id;
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 完整短链接
+     */
+    private String fullShortUrl;
+}
@@ -0,0 +1,10 @@
+package com.kkk.shortlink.project.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.kkk.shortlink.project.dao.entity.LinkAccessLogDO;
+
+/**
+ * 短链接原始访问日志持久层
+ */
+public interface LinkAccessLogMapper extends BaseMapper<LinkAccessLogDO> {
+}
@@ -0,0 +1,153 @@
+package com.kkk.shortlink.project.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.kkk.shortlink.project.dao.entity.LinkAccessStatsDO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkGroupStatsRespDTO;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 短链接访问统计持久层
+ * pv、uv、uip 均为 Redis 中的累计值，重复写入结果不变；取较大值避免 Redis Key 过期后回退
+ */
+public interface LinkAccessStatsMapper extends BaseMapper<LinkAccessStatsDO> {
+
+    /**
+     * 写入或更新小时统计
+     */
+    @Insert("INSERT INTO t_link_access_stats (gid, full_short_url, date, hour, pv, uv, uip, create_time, update_time, del_flag) " +
+            "VALUES (#{gid}, #{fullShortUrl}, #{date}, #{hour}, #{pv}, #{uv}, #{uip}, NOW(), NOW(), 0) " +
+            "ON DUPLICATE KEY UPDATE pv = GREATEST(pv, #{pv}), uv = GREATEST(uv, #{uv}), uip = GREATEST(uip, #{uip}), update_time = NOW()")
+    void upsertHourStats(LinkAccessStatsDO linkAccessStatsDO);
+
+    /**
+     * 写入或更新日统计
+     */
+    @Insert("INSERT INTO t_link_access_stats_day (gid, full_short_url, date, pv, uv, uip, create_time, update_time, del_flag) " +
+            "VALUES (#{gid}, #{fullShortUrl}, #{date}, #{pv}, #{uv}, #{uip}, NOW(), NOW(), 0) " +
+            "ON DUPLICATE KEY UPDATE pv = GREATEST(pv, #{pv}), uv = GREATEST(uv, #{uv}), uip = GREATEST(uip, #{uip}), update_time = NOW()")
+    void upsertDayStats(LinkAccessStatsDO linkAccessStatsDO);
+
+    /**
+     * 写入或更新月统计
+     */
+    @Insert("INSERT INTO t_link_access_stats_month (gid, full_short_url, date, pv, uv, uip, create_time, update_time, del_flag) " +
+            "VALUES (#{gid}, #{fullShortUrl}, #{date}, #{pv}, #{uv}, #{uip}, NOW(), NOW(), 0) " +
+            "ON DUPLICATE KEY UPDATE pv = GREATEST(pv, #{pv}), uv = GREATEST(uv, #{uv}), uip = GREATEST(uip, #{uip}), update_time = NOW()")
+    void upsertMonthStats(LinkAccessStatsDO linkAccessStatsDO);
+
+    /**
+     * 查询日期范围内的日统计，不传完整短链接时按日汇总分组内全部短链接，带分片键 gid 只路由到单个分表
+     */
+    @Select("<script>" +
+            "SELECT date, SUM(pv) AS pv, SUM(uv) AS uv, SUM(uip) AS uip FROM t_link_access_stats_day " +
+            "WHERE gid = #{gid} <if test='fullShortUrl != null'>AND full_short_url = #{fullShortUrl} </if>" +
+            "AND date BETWEEN #{startDate} AND #{endDate} AND del_flag = 0 GROUP BY date ORDER BY date" +
+            "</script>")
+    List<LinkAccessStatsDO> listDayStats(@Param("gid") String gid,
+                                         @Param("fullShortUrl") String fullShortUrl,
+                                         @Param("startDate") Date startDate,
+                                         @Param("endDate") Date endDate);
+
+    /**
+     * 查询月份范围内的月统计，日期为当月第一天，汇总规则同日统计
+     */
+    @Select("<script>" +
+            "SELECT date, SUM(pv) AS pv, SUM(uv) AS uv, SUM(uip) AS uip FROM t_link_access_stats_month " +
+            "WHERE gid = #{gid} <if test='fullShortUrl != null'>AND full_short_url = #{fullShortUrl} </if>" +
+            "AND date BETWEEN #{startDate} AND #{endDate} AND del_flag = 0 GROUP BY date ORDER BY date" +
+            "</script>")
+    List<LinkAccessStatsDO> listMonthStats(@Param("gid") String gid,
+                                           @Param("fullShortUrl") String fullShortUrl,
+                                           @Param("startDate") Date startDate,
+                                           @Param("endDate") Date endDate);
+
+    /**
+     * 按分组汇总全部月统计，调用方保证传入的分组位于同一分表，一条 GROUP BY 语句只路由到该分表；
+     * 各短链接各月的 UV、UIP 只能求和，结果列名带 sum 以示区分，短链接数由调用方从分组短链接数计数获取
+     */
+    @Select("<script>" +
+            "SELECT gid, SUM(pv) AS pv, SUM(uv) AS uv_sum, SUM(uip) AS uip_sum " +
+            "FROM t_link_access_stats_month WHERE gid IN " +
+            "<foreach collection='gids' item='gid' open='(' separator=',' close=')'>#{gid}</foreach> " +
+            "AND del_flag = 0 GROUP BY gid" +
+            "</script>")
+    List<ShortLinkGroupStatsRespDTO> listGroupStats(@Param("gids") Collection<String> gids);
+
+    /**
+     * 按分组标识顺序分页查询存在早于指定日期统计行的分组，表名只能传入统计表常量；
+     * 以上一页最后一个分组为游标，各分表沿 (gid, date) 索引从游标处扫描，凑满一页即停止，不全表扫描
+     */
+    @Select("<script>" +
+            "SELECT DISTINCT gid FROM ${table} WHERE " +
+            "<if test='lastGid != null'>gid &gt; #{lastGid} AND </if>" +
+            "date &lt; #{before} ORDER BY gid LIMIT #{limit}" +
+            "</script>")
+    List<String> listStatsGids(@Param("table") String table,
+                               @Param("lastGid") String lastGid,
+                               @Param("before") Date before,
+                               @Param("limit") int limit);
+
+    /**
+     * 按短链接、日期汇总早于指定日期的小时统计，调用方保证传入的分组位于同一分表
+     */
+    @Select("<script>" +
+            "SELECT gid, full_short_url, date, SUM(pv) AS pv, SUM(uv) AS uv, SUM(uip) AS uip FROM t_link_access_stats " +
+            "WHERE gid IN <foreach collection='gids' item='gid' open='(' separator=',' close=')'>#{gid}</foreach> " +
+            "AND date &lt; #{before} GROUP BY gid, full_short_url, date" +
+            "</script>")
+    List<LinkAccessStatsDO> listHourRollup(@Param("gids") Collection<String> gids, @Param("before") Date before);
+
+    /**
+     * 按短链接、月份汇总早于指定日期的日统计，日期为当月第一天，调用方保证传入的分组位于同一分表
+     */
+    @Select("<script>" +
+            "SELECT gid, full_short_url, DATE_FORMAT(date, '%Y-%m-01') AS date, SUM(pv) AS pv, SUM(uv) AS uv, SUM(uip) AS uip " +
+            "FROM t_link_access_stats_day WHERE gid IN <foreach collection='gids' item='gid' open='(' separator=',' close=')'>#{gid}</foreach> " +
+            "AND date &lt; #{before} GROUP BY gid, full_short_url, DATE_FORMAT(date, '%Y-%m-01')" +
+            "</script>")
+    List<LinkAccessStatsDO> listDayRollup(@Param("gids") Collection<String> gids, @Param("before") Date before);
+
+    /**
+     * 小时统计汇总写入日统计，只补齐访问量；已存在的日统计 uv、uip 来自 HyperLogLog，比小时累加更准确，不覆盖
+     */
+    @Insert("INSERT INTO t_link_access_stats_day (gid, full_short_url, date, pv, uv, uip, create_time, update_time, del_flag) " +
+            "VALUES (#{gid}, #{fullShortUrl}, #{date}, #{pv}, #{uv}, #{uip}, NOW(), NOW(), 0) " +
+            "ON DUPLICATE KEY UPDATE pv = GREATEST(pv, #{pv}), update_time = NOW()")
+    void upsertDayRollup(LinkAccessStatsDO linkAccessStatsDO);
+
+    /**
+     * 日统计汇总写入月统计，规则同 {@link #upsertDayRollup}
+     */
+    @Insert("INSERT INTO t_link_access_stats_month (gid, full_short_url, date, pv, uv, uip, create_time, update_time, del_flag) " +
+            "VALUES (#{gid}, #{fullShortUrl}, #{date}, #{pv}, #{uv}, #{uip}, NOW(), NOW(), 0) " +
+            "ON DUPLICATE KEY UPDATE pv = GREATEST(pv, #{pv}), update_time = NOW()")
+    void upsertMonthRollup(LinkAccessStatsDO linkAccessStatsDO);
+
+    /**
+     * 查询一批早于指定日期的统计行主键，调用方保证传入的分组位于同一分表
+     */
+    @Select("<script>" +
+            "SELECT id FROM ${table} WHERE gid IN <foreach collection='gids' item='gid' open='(' separator=',' close=')'>#{gid}</foreach> " +
+            "AND date &lt; #{before} LIMIT #{limit}" +
+            "</script>")
+    List<Long> listExpiredIds(@Param("table") String table,
+                              @Param("gids") Collection<String> gids,
+                              @Param("before") Date before,
+                              @Param("limit") int limit);
+
+    /**
+     * 按主键删除统计行，带上分组条件只路由到单个分表
+     */
+    @Delete("<script>" +
+            "DELETE FROM ${table} WHERE gid IN <foreach collection='gids' item='gid' open='(' separator=',' close=')'>#{gid}</foreach> " +
+            "AND id IN <foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int deleteByIds(@Param("table") String table, @Param("gids") Collection<String> gids, @Param("ids") Collection<Long> ids);
+}
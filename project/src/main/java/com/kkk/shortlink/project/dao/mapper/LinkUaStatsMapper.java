@@ -0,0 +1,38 @@
+package com.kkk.shortlink.project.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.kkk.shortlink.project.dao.entity.LinkUaStatsDO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 短链接浏览器、操作系统、设备访问统计持久层
+ * cnt 为 Redis 中的累计值，写入规则同 {@link LinkAccessStatsMapper}
+ */
+public interface LinkUaStatsMapper extends BaseMapper<LinkUaStatsDO> {
+
+    /**
+     * 写入或更新日统计
+     */
+    @Insert("INSERT INTO t_link_ua_stats (gid, full_short_url, date, type, name, cnt, create_time, update_time, del_flag) " +
+            "VALUES (#{gid}, #{fullShortUrl}, #{date}, #{type}, #{name}, #{cnt}, NOW(), NOW(), 0) " +
+            "ON DUPLICATE KEY UPDATE cnt = GREATEST(cnt, #{cnt}), update_time = NOW()")
+    void upsertUaStats(LinkUaStatsDO linkUaStatsDO);
+
+    /**
+     * 查询日期范围内按维度取值汇总的访问量，不传完整短链接时汇总分组内全部短链接
+     */
+    @Select("<script>" +
+            "SELECT type, name, SUM(cnt) AS cnt FROM t_link_ua_stats " +
+            "WHERE gid = #{gid} <if test='fullShortUrl != null'>AND full_short_url = #{fullShortUrl} </if>" +
+            "AND date BETWEEN #{startDate} AND #{endDate} AND del_flag = 0 GROUP BY type, name ORDER BY cnt DESC" +
+            "</script>")
+    List<LinkUaStatsDO> listUaStats(@Param("gid") String gid,
+                                    @Param("fullShortUrl") String fullShortUrl,
+                                    @Param("startDate") Date startDate,
+                                    @Param("endDate") Date endDate);
+}
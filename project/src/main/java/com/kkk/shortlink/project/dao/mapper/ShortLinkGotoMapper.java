@@ -0,0 +1,10 @@
+package com.kkk.shortlink.project.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.kkk.shortlink.project.dao.entity.ShortLinkGotoDO;
+
+/**
+ * 短链接跳转路由持久层
+ */
+public interface ShortLinkGotoMapper extends BaseMapper<ShortLinkGotoDO> {
+}
@@ -2,9 +2,32 @@ package com.kkk.shortlink.project.dao.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.kkk.shortlink.project.dao.entity.ShortLinkDO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkGroupCountRespDTO;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 短链接持久层
  */
 public interface ShortLinkMapper extends BaseMapper<ShortLinkDO> {
+
+    /**
+     * 累加短链接点击量，带分片键 gid 只路由到单个分表
+     */
+    @Update("UPDATE t_link SET click_num = IFNULL(click_num, 0) + #{increment} WHERE gid = #{gid} AND full_short_url = #{fullShortUrl}")
+    int incrementClickNum(@Param("gid") String gid, @Param("fullShortUrl") String fullShortUrl, @Param("increment") long increment);
+
+    /**
+     * 按分组统计启用中的短链接数，调用方保证传入的分组位于同一分表，只路由到单个分表；没有短链接的分组不返回
+     */
+    @Select("<script>" +
+            "SELECT gid, COUNT(*) AS short_link_count FROM t_link " +
+            "WHERE gid IN <foreach collection='gids' item='gid' open='(' separator=',' close=')'>#{gid}</foreach> " +
+            "AND enable_status = 0 AND del_flag = 0 GROUP BY gid" +
+            "</script>")
+    List<ShortLinkGroupCountRespDTO> listGroupLinkCount(@Param("gids") Collection<String> gids);
 }
@@ -0,0 +1,24 @@
+package com.kkk.shortlink.project.dao.mapper;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 短链接号段持久层
+ * t_short_uri_segment 不分片，每个业务标识一行，max_id 为已分配出去的最大 ID（不包含），只增不减
+ */
+public interface ShortUriSegmentMapper {
+
+    /**
+     * 申请一个号段，行锁保证并发申请的号段互不重叠；业务标识不存在时返回 0
+     */
+    @Update("UPDATE t_short_uri_segment SET max_id = max_id + #{step}, update_time = NOW() WHERE biz_tag = #{bizTag}")
+    int increaseMaxId(@Param("bizTag") String bizTag, @Param("step") long step);
+
+    /**
+     * 查询业务标识当前的最大 ID，需与 {@link #increaseMaxId} 在同一事务内调用才能读到本次申请的结果
+     */
+    @Select("SELECT max_id FROM t_short_uri_segment WHERE biz_tag = #{bizTag}")
+    Long selectMaxId(@Param("bizTag") String bizTag);
+}
@@ -0,0 +1,31 @@
+package com.kkk.shortlink.project.dto.req;
+
+import lombok.Data;
+
+/**
+ * 短链接游标分页请求参数
+ * 首页不传游标，之后传入上一页返回的 nextCreateTime 与 nextId
+ */
+@Data
+public class ShortLinkCursorPageReqDTO {
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 每页条数
+     */
+    private Integer size = 10;
+
+    /**
+     * 上一页最后一条的创建时间，毫秒时间戳
+     */
+    private Long lastCreateTime;
+
+    /**
+     * 上一页最后一条的 id
+     */
+    private Long lastId;
+}
@@ -0,0 +1,22 @@
+package com.kkk.shortlink.project.dto.req;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.kkk.shortlink.project.dao.entity.ShortLinkDO;
+import lombok.Data;
+
+/**
+ * 短链接搜索请求参数
+ */
+@Data
+public class ShortLinkSearchReqDTO extends Page<ShortLinkDO> {
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 查询语句，匹配原始链接与描述中的片段，空白分隔的多个词需同时命中
+     */
+    private String q;
+}
@@ -0,0 +1,30 @@
+package com.kkk.shortlink.project.dto.req;
+
+import lombok.Data;
+
+/**
+ * 短链接访问统计查询请求参数
+ */
+@Data
+public class ShortLinkStatsReqDTO {
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 完整短链接，为空时查询分组内全部短链接的汇总
+     */
+    private String fullShortUrl;
+
+    /**
+     * 开始日期，格式 yyyy-MM-dd
+     */
+    private String startDate;
+
+    /**
+     * 结束日期（包含），格式 yyyy-MM-dd
+     */
+    private String endDate;
+}
@@ -0,0 +1,46 @@
+package com.kkk.shortlink.project.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接批量创建单条结果
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShortLinkBatchCreateItemRespDTO {
+
+    /**
+     * 在请求列表中的下标
+     */
+    private Integer index;
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 原始链接
+     */
+    private String originUrl;
+
+    /**
+     * 短链接，创建失败时为空
+     */
+    private String fullShortUrl;
+
+    /**
+     * 是否创建成功
+     */
+    private Boolean success;
+
+    /**
+     * 失败原因
+     */
+    private String message;
+}
@@ -0,0 +1,33 @@
+package com.kkk.shortlink.project.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 短链接批量创建响应对象
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShortLinkBatchCreateRespDTO {
+
+    /**
+     * 请求条数
+     */
+    private Integer total;
+
+    /**
+     * 创建成功条数
+     */
+    private Integer successCount;
+
+    /**
+     * 逐条创建结果，与请求顺序一致
+     */
+    private List<ShortLinkBatchCreateItemRespDTO> results;
+}
@@ -0,0 +1,33 @@
+package com.kkk.shortlink.project.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 短链接分组点击增量推送事件
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShortLinkClickDeltaRespDTO {
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 推送时间戳
+     */
+    private Long timestamp;
+
+    /**
+     * 完整短链接 -> 上次推送以来新增的点击量
+     */
+    private Map<String, Long> deltas;
+}
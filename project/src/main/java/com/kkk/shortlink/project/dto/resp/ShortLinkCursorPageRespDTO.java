@@ -0,0 +1,38 @@
+package com.kkk.shortlink.project.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 短链接游标分页返回参数
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortLinkCursorPageRespDTO {
+
+    /**
+     * 本页短链接
+     */
+    private List<ShortLinkPageRespDTO> records;
+
+    /**
+     * 是否还有下一页
+     */
+    private Boolean hasMore;
+
+    /**
+     * 下一页游标：本页最后一条的创建时间，毫秒时间戳
+     */
+    private Long nextCreateTime;
+
+    /**
+     * 下一页游标：本页最后一条的 id
+     */
+    private Long nextId;
+}
@@ -0,0 +1,26 @@
+package com.kkk.shortlink.project.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 分组短链接数返回参数
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShortLinkGroupCountRespDTO {
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 启用中的短链接数
+     */
+    private Integer shortLinkCount;
+}
@@ -0,0 +1,41 @@
+package com.kkk.shortlink.project.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接分组访问统计返回参数
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShortLinkGroupStatsRespDTO {
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 分组启用中的短链接数，与分页查询的总数同源，包含没有访问记录的短链接
+     */
+    private Integer linkCount;
+
+    /**
+     * 总访问量
+     */
+    private Long pv;
+
+    /**
+     * 各短链接各月独立访客数之和，同一访客访问多个短链接或跨月访问时重复计入，是分组去重访客数的上界
+     */
+    private Long uvSum;
+
+    /**
+     * 各短链接各月独立 IP 数之和，同一 IP 访问多个短链接或跨月访问时重复计入，是分组去重 IP 数的上界
+     */
+    private Long uipSum;
+}
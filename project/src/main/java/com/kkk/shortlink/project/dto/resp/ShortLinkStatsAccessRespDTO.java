@@ -0,0 +1,36 @@
+package com.kkk.shortlink.project.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接单个统计周期访问数据
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShortLinkStatsAccessRespDTO {
+
+    /**
+     * 统计周期，月统计格式 yyyy-MM，日统计格式 yyyy-MM-dd
+     */
+    private String date;
+
+    /**
+     * 访问量
+     */
+    private Integer pv;
+
+    /**
+     * 独立访客数
+     */
+    private Integer uv;
+
+    /**
+     * 独立 IP 数
+     */
+    private Integer uip;
+}
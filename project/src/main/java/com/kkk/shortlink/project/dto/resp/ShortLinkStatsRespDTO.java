@@ -0,0 +1,53 @@
+package com.kkk.shortlink.project.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 短链接访问统计响应对象
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShortLinkStatsRespDTO {
+
+    /**
+     * 访问量
+     */
+    private Long pv;
+
+    /**
+     * 各统计周期独立访客数之和，跨多个周期时是去重访客数的上界
+     */
+    private Long uvSum;
+
+    /**
+     * 各统计周期独立 IP 数之和，跨多个周期时是去重 IP 数的上界
+     */
+    private Long uipSum;
+
+    /**
+     * 按统计周期排列的明细，范围内完整的自然月按月返回，其余按日返回
+     */
+    private List<ShortLinkStatsAccessRespDTO> stats;
+
+    /**
+     * 浏览器访问分布，按访问量降序
+     */
+    private List<ShortLinkStatsUaRespDTO> browserStats;
+
+    /**
+     * 操作系统访问分布，按访问量降序
+     */
+    private List<ShortLinkStatsUaRespDTO> osStats;
+
+    /**
+     * 设备类型访问分布，按访问量降序
+     */
+    private List<ShortLinkStatsUaRespDTO> deviceStats;
+}
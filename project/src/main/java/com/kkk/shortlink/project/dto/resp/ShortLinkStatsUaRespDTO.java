@@ -0,0 +1,26 @@
+package com.kkk.shortlink.project.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接浏览器、操作系统、设备访问分布
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShortLinkStatsUaRespDTO {
+
+    /**
+     * 维度取值，如 Chrome、Windows、Mobile
+     */
+    private String name;
+
+    /**
+     * 访问量
+     */
+    private Integer cnt;
+}
@@ -0,0 +1,174 @@
+package com.kkk.shortlink.project.mq.consumer;
+
+import cn.hutool.core.net.NetUtil;
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessEvent;
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessStats;
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessStatsAggregator;
+import com.kkk.shortlink.project.config.LinkStatsProperties;
+import com.kkk.shortlink.project.service.LinkAccessStatsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.api.stream.StreamReadGroupArgs;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.LINK_STATS_STREAM_GROUP;
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.LINK_STATS_STREAM_KEY;
+
+/**
+ * 短链接访问事件消费者
+ * 每个消费线程是消费者组中的一个消费者，批量读取消息，聚合、写库成功后才 XACK。
+ * 启动或处理失败后先重新处理本消费者未确认的消息，并定期认领其他消费者超时未确认的消息，
+ * 宕机节点遗留的消息由存活节点接手；重放依赖 {@link ShortLinkAccessStatsAggregator} 的消息去重，不会重复计数
+ */
+@Slf4j
+@Component
+public class ShortLinkStatsStreamConsumer implements InitializingBean, DisposableBean {
+
+    private static final long RETRY_INTERVAL_MILLIS = 1000L;
+
+    private final RStream<String, String> stream;
+
+    private final ShortLinkAccessStatsAggregator shortLinkAccessStatsAggregator;
+
+    private final LinkAccessStatsService linkAccessStatsService;
+
+    private final LinkStatsProperties linkStatsProperties;
+
+    private final String consumerNamePrefix;
+
+    private final ExecutorService consumeExecutor;
+
+    private final Timer consumeTimer;
+
+    private final Counter consumedCounter;
+
+    private volatile boolean running = true;
+
+    public ShortLinkStatsStreamConsumer(RedissonClient redissonClient,
+                                        ShortLinkAccessStatsAggregator shortLinkAccessStatsAggregator,
+                                        LinkAccessStatsService linkAccessStatsService,
+                                        LinkStatsProperties linkStatsProperties,
+                                        MeterRegistry meterRegistry) {
+        this.stream = redissonClient.getStream(LINK_STATS_STREAM_KEY, StringCodec.INSTANCE);
+        this.shortLinkAccessStatsAggregator = shortLinkAccessStatsAggregator;
+        this.linkAccessStatsService = linkAccessStatsService;
+        this.linkStatsProperties = linkStatsProperties;
+        //同一节点重启后沿用相同的消费者名称，直接接手自己未确认的消息
+        this.consumerNamePrefix = NetUtil.getLocalHostName() + "-" + ProcessHandle.current().pid();
+        this.consumeExecutor = Executors.newFixedThreadPool(linkStatsProperties.getConsumerThreads(),
+                ThreadFactoryBuilder.create().setNamePrefix("short-link-stats-consumer-").setDaemon(true).build());
+        this.consumeTimer = Timer.builder("short-link.stats.stream.consume")
+                .description("每批访问事件聚合写库耗时")
+                .register(meterRegistry);
+        this.consumedCounter = Counter.builder("short-link.stats.stream.consumed")
+                .description("已处理的访问事件数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            stream.createGroup(LINK_STATS_STREAM_GROUP, StreamMessageId.ALL);
+        } catch (RedisException ex) {
+            if (ex.getMessage() == null || !ex.getMessage().contains("BUSYGROUP")) {
+                throw ex;
+            }
+        }
+        for (int i = 0; i < linkStatsProperties.getConsumerThreads(); i++) {
+            String consumerName = consumerNamePrefix + "-" + i;
+            consumeExecutor.execute(() -> consume(consumerName));
+        }
+    }
+
+    private void consume(String consumerName) {
+        int batchSize = linkStatsProperties.getConsumeBatchSize();
+        long pendingIdleMillis = linkStatsProperties.getPendingIdleTimeout().toMillis();
+        StreamMessageId pendingFrom = StreamMessageId.ALL;
+        boolean replayPending = true;
+        long nextClaimTime = System.currentTimeMillis() + pendingIdleMillis;
+        while (running) {
+            try {
+                Map<StreamMessageId, Map<String, String>> messages;
+                if (replayPending) {
+                    messages = stream.readGroup(LINK_STATS_STREAM_GROUP, consumerName, StreamReadGroupArgs.greaterThan(pendingFrom).count(batchSize));
+                    if (messages.isEmpty()) {
+                        replayPending = false;
+                        continue;
+                    }
+                } else if (System.currentTimeMillis() >= nextClaimTime) {
+                    nextClaimTime = System.currentTimeMillis() + pendingIdleMillis;
+                    messages = stream.autoClaim(LINK_STATS_STREAM_GROUP, consumerName, pendingIdleMillis, TimeUnit.MILLISECONDS, StreamMessageId.ALL, batchSize)
+                            .getMessages();
+                } else {
+                    messages = stream.readGroup(LINK_STATS_STREAM_GROUP, consumerName, StreamReadGroupArgs.neverDelivered()
+                            .count(batchSize).timeout(linkStatsProperties.getConsumeBlockTimeout()));
+                }
+                if (messages.isEmpty()) {
+                    continue;
+                }
+                process(messages);
+                if (replayPending) {
+                    pendingFrom = messages.keySet().stream().reduce((first, second) -> second).orElse(pendingFrom);
+                }
+            } catch (Exception ex) {
+                log.error("短链接访问事件消费失败，稍后重新处理未确认的消息，消费者：{}", consumerName, ex);
+                pendingFrom = StreamMessageId.ALL;
+                replayPending = true;
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void process(Map<StreamMessageId, Map<String, String>> messages) {
+        long start = System.nanoTime();
+        Map<String, ShortLinkAccessEvent> events = new LinkedHashMap<>(messages.size() * 2);
+        messages.forEach((messageId, entries) -> {
+            try {
+                events.put(messageId.toString(), ShortLinkAccessEvent.fromStreamEntries(entries));
+            } catch (RuntimeException ex) {
+                //无法解析的消息重放也无法处理，记录后随本批确认
+                log.error("短链接访问事件格式错误，消息 ID：{}，内容：{}", messageId, entries, ex);
+            }
+        });
+        ShortLinkAccessStats stats = shortLinkAccessStatsAggregator.aggregate(events);
+        linkAccessStatsService.saveStats(stats);
+        stream.ack(LINK_STATS_STREAM_GROUP, messages.keySet().toArray(new StreamMessageId[0]));
+        consumedCounter.increment(messages.size());
+        consumeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(RETRY_INTERVAL_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /**
+     * 停机时不再读取新消息，等待当前批次处理完成，未确认的消息由重启后的本节点或其他节点接手
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        consumeExecutor.shutdown();
+        consumeExecutor.awaitTermination(linkStatsProperties.getConsumeBlockTimeout().toMillis() + 30000L, TimeUnit.MILLISECONDS);
+    }
+}
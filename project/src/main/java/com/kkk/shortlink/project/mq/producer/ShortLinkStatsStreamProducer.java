@@ -0,0 +1,51 @@
+package com.kkk.shortlink.project.mq.producer;
+
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessEvent;
+import com.kkk.shortlink.project.config.LinkStatsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.LINK_STATS_STREAM_KEY;
+
+/**
+ * 短链接访问事件生产者
+ * 异步 XADD 到 Redis Stream，跳转请求线程只负责序列化与提交命令，不等待 Redis 响应
+ */
+@Slf4j
+@Component
+public class ShortLinkStatsStreamProducer {
+
+    private final RStream<String, String> stream;
+
+    private final LinkStatsProperties linkStatsProperties;
+
+    private final Counter sendFailedCounter;
+
+    public ShortLinkStatsStreamProducer(RedissonClient redissonClient, LinkStatsProperties linkStatsProperties, MeterRegistry meterRegistry) {
+        this.stream = redissonClient.getStream(LINK_STATS_STREAM_KEY, StringCodec.INSTANCE);
+        this.linkStatsProperties = linkStatsProperties;
+        this.sendFailedCounter = Counter.builder("short-link.stats.stream.send-failed")
+                .description("访问事件写入 Stream 失败次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 发送访问事件，Stream 长度近似裁剪到配置的最大长度
+     */
+    public void send(ShortLinkAccessEvent event) {
+        stream.addAsync(StreamAddArgs.entries(event.toStreamEntries())
+                        .trimNonStrict().maxLen(linkStatsProperties.getStreamMaxLength()).noLimit())
+                .whenComplete((messageId, ex) -> {
+                    if (ex != null) {
+                        sendFailedCounter.increment();
+                        log.warn("短链接访问事件写入 Stream 失败，完整短链接：{}", event.getFullShortUrl(), ex);
+                    }
+                });
+    }
+}
@@ -0,0 +1,10 @@
+package com.kkk.shortlink.project.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.kkk.shortlink.project.dao.entity.LinkAccessLogDO;
+
+/**
+ * 短链接原始访问日志接口层
+ */
+public interface LinkAccessLogService extends IService<LinkAccessLogDO> {
+}
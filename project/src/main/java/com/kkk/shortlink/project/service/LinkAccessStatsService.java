@@ -0,0 +1,36 @@
+package com.kkk.shortlink.project.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessStats;
+import com.kkk.shortlink.project.dao.entity.LinkAccessStatsDO;
+import com.kkk.shortlink.project.dto.req.ShortLinkStatsReqDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkGroupStatsRespDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkStatsRespDTO;
+
+import java.util.List;
+
+/**
+ * 短链接访问统计接口层
+ */
+public interface LinkAccessStatsService extends IService<LinkAccessStatsDO> {
+
+    /**
+     * 批量写入小时、日、月统计，按 gid 所在分表分组，每个分表一个事务
+     * @param stats 统计桶当前累计值
+     */
+    void saveStats(ShortLinkAccessStats stats);
+
+    /**
+     * 查询指定日期范围内的访问统计，完整的自然月读月统计，首尾不足一个月的部分读日统计
+     * @param requestParam 查询参数
+     * @return 访问统计
+     */
+    ShortLinkStatsRespDTO queryStats(ShortLinkStatsReqDTO requestParam);
+
+    /**
+     * 查询多个分组的累计访问统计，按分表合并查询并并行执行，结果按分组短时间缓存
+     * @param gids 分组标识
+     * @return 与传入顺序一致的分组统计，无访问记录的分组各项为 0
+     */
+    List<ShortLinkGroupStatsRespDTO> listGroupStats(List<String> gids);
+}
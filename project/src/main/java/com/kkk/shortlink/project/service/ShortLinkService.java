@@ -4,9 +4,20 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.kkk.shortlink.project.dao.entity.ShortLinkDO;
 import com.kkk.shortlink.project.dto.req.ShortLinkCreateReqDTO;
+import com.kkk.shortlink.project.dto.req.ShortLinkCursorPageReqDTO;
 import com.kkk.shortlink.project.dto.req.ShortLinkPageReqDTO;
+import com.kkk.shortlink.project.dto.req.ShortLinkSearchReqDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.kkk.shortlink.project.dto.resp.ShortLinkCreateRespDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkCursorPageRespDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkGroupCountRespDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkHotRespDTO;
 import com.kkk.shortlink.project.dto.resp.ShortLinkPageRespDTO;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 /**
  * 短链接接口层
@@ -20,10 +31,59 @@ public interface ShortLinkService extends IService<ShortLinkDO> {
      */
     ShortLinkCreateRespDTO createShortLink(ShortLinkCreateReqDTO requestParam);
 
+    /**
+     * 批量创建短链接，单条失败不影响其他条目
+     * @param requestParam 创建短链接请求信息列表
+     * @return 逐条创建结果
+     */
+    ShortLinkBatchCreateRespDTO batchCreateShortLink(List<ShortLinkCreateReqDTO> requestParam);
+
     /**
      * 短链接分页查询
      * @param requestParam 短链接分页查询请求参数
      * @return 短链接分页查询返回信息
      */
     IPage<ShortLinkPageRespDTO> pageShortLink(ShortLinkPageReqDTO requestParam);
+
+    /**
+     * 短链接游标分页查询，按创建时间、id 倒序从上一页最后一条之后继续读取，不统计总数
+     * @param requestParam 短链接游标分页查询请求参数
+     * @return 本页短链接及下一页游标
+     */
+    ShortLinkCursorPageRespDTO cursorPageShortLink(ShortLinkCursorPageReqDTO requestParam);
+
+    /**
+     * 批量查询分组启用中的短链接数
+     * @param gids 分组标识列表
+     * @return 按请求顺序返回各分组的短链接数，没有短链接的分组为 0
+     */
+    List<ShortLinkGroupCountRespDTO> listGroupShortLinkCount(List<String> gids);
+
+    /**
+     * 按原始链接与描述片段搜索分组内的短链接
+     * @param requestParam 短链接搜索请求参数
+     * @return 按相关度排序的分页结果
+     */
+    IPage<ShortLinkPageRespDTO> searchShortLink(ShortLinkSearchReqDTO requestParam);
+
+    /**
+     * 短链接跳转原始链接
+     * @param shortUri 短链接后缀
+     * @param request HTTP 请求
+     * @param response HTTP 响应
+     */
+    void restoreUrl(String shortUri, ServletRequest request, ServletResponse response);
+
+    /**
+     * 查询本节点统计的热点短链接
+     * @return 按近期估计访问次数降序的 Top-K 短链接
+     */
+    List<ShortLinkHotRespDTO> listHotShortLink();
+
+    /**
+     * 订阅分组内短链接的实时点击增量
+     * @param gid 分组标识
+     * @return SSE 连接，每个推送间隔收到一条合并后的增量事件
+     */
+    SseEmitter subscribeClickDelta(String gid);
 }
@@ -0,0 +1,14 @@
+package com.kkk.shortlink.project.service.impl;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.kkk.shortlink.project.dao.entity.LinkAccessLogDO;
+import com.kkk.shortlink.project.dao.mapper.LinkAccessLogMapper;
+import com.kkk.shortlink.project.service.LinkAccessLogService;
+import org.springframework.stereotype.Service;
+
+/**
+ * 短链接原始访问日志接口实现层
+ */
+@Service
+public class LinkAccessLogServiceImpl extends ServiceImpl<LinkAccessLogMapper, LinkAccessLogDO> implements LinkAccessLogService {
+}
@@ -0,0 +1,205 @@
+package com.kkk.shortlink.project.service.impl;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import cn.hutool.core.util.StrUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kkk.shortlink.project.common.convention.exception.ClientException;
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessStats;
+import com.kkk.shortlink.project.common.cache.ShortLinkCountCache;
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessStatsAggregator;
+import com.kkk.shortlink.project.config.LinkStatsProperties;
+import com.kkk.shortlink.project.dao.entity.LinkAccessStatsDO;
+import com.kkk.shortlink.project.dao.entity.LinkUaStatsDO;
+import com.kkk.shortlink.project.dao.mapper.LinkAccessStatsMapper;
+import com.kkk.shortlink.project.dao.mapper.LinkUaStatsMapper;
+import com.kkk.shortlink.project.dto.req.ShortLinkStatsReqDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkGroupStatsRespDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkStatsAccessRespDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkStatsRespDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkStatsUaRespDTO;
+import com.kkk.shortlink.project.service.LinkAccessStatsService;
+import com.kkk.shortlink.project.toolkit.LinkShardingUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 短链接访问统计接口实现层
+ */
+@Service
+@RequiredArgsConstructor
+public class LinkAccessStatsServiceImpl extends ServiceImpl<LinkAccessStatsMapper, LinkAccessStatsDO> implements LinkAccessStatsService, InitializingBean {
+
+    private final TransactionTemplate transactionTemplate;
+    private final LinkStatsProperties linkStatsProperties;
+    private final LinkUaStatsMapper linkUaStatsMapper;
+    private final ExecutorService statsQueryExecutor;
+    private final ShortLinkCountCache shortLinkCountCache;
+
+    private Cache<String, ShortLinkGroupStatsRespDTO> groupStatsCache;
+
+    @Override
+    public void afterPropertiesSet() {
+        groupStatsCache = Caffeine.newBuilder()
+                .maximumSize(linkStatsProperties.getGroupStatsCacheMaximumSize())
+                .expireAfterWrite(linkStatsProperties.getGroupStatsCacheTimeToLive())
+                .build();
+    }
+
+    @Override
+    public void saveStats(ShortLinkAccessStats stats) {
+        Map<Integer, ShortLinkAccessStats> shardStats = new TreeMap<>();
+        stats.getHourStats().forEach(each -> shardStats.computeIfAbsent(LinkShardingUtil.tableIndex(each.getGid()), key -> new ShortLinkAccessStats())
+                .getHourStats().add(each));
+        stats.getDayStats().forEach(each -> shardStats.computeIfAbsent(LinkShardingUtil.tableIndex(each.getGid()), key -> new ShortLinkAccessStats())
+                .getDayStats().add(each));
+        stats.getMonthStats().forEach(each -> shardStats.computeIfAbsent(LinkShardingUtil.tableIndex(each.getGid()), key -> new ShortLinkAccessStats())
+                .getMonthStats().add(each));
+        stats.getUaStats().forEach(each -> shardStats.computeIfAbsent(LinkShardingUtil.tableIndex(each.getGid()), key -> new ShortLinkAccessStats())
+                .getUaStats().add(each));
+        int batchSize = linkStatsProperties.getBatchSize();
+        shardStats.values().forEach(each -> transactionTemplate.executeWithoutResult(status -> {
+            SqlHelper.executeBatch(LinkAccessStatsDO.class, log, each.getHourStats(), batchSize, (sqlSession, item) ->
+                    sqlSession.getMapper(LinkAccessStatsMapper.class).upsertHourStats(item));
+            SqlHelper.executeBatch(LinkAccessStatsDO.class, log, each.getDayStats(), batchSize, (sqlSession, item) ->
+                    sqlSession.getMapper(LinkAccessStatsMapper.class).upsertDayStats(item));
+            SqlHelper.executeBatch(LinkAccessStatsDO.class, log, each.getMonthStats(), batchSize, (sqlSession, item) ->
+                    sqlSession.getMapper(LinkAccessStatsMapper.class).upsertMonthStats(item));
+            SqlHelper.executeBatch(LinkUaStatsDO.class, log, each.getUaStats(), batchSize, (sqlSession, item) ->
+                    sqlSession.getMapper(LinkUaStatsMapper.class).upsertUaStats(item));
+        }));
+    }
+
+    @Override
+    public ShortLinkStatsRespDTO queryStats(ShortLinkStatsReqDTO requestParam) {
+        if (StrUtil.isBlank(requestParam.getGid())) {
+            throw new ClientException("分组标识不能为空");
+        }
+        LocalDate startDate = parseDate(requestParam.getStartDate());
+        LocalDate endDate = parseDate(requestParam.getEndDate());
+        if (startDate.isAfter(endDate)) {
+            throw new ClientException("开始日期不能晚于结束日期");
+        }
+        String gid = requestParam.getGid();
+        String fullShortUrl = StrUtil.emptyToNull(requestParam.getFullShortUrl());
+        //范围内第一个与最后一个完整自然月，首尾不足一个月的部分读日统计
+        LocalDate firstMonth = startDate.getDayOfMonth() == 1 ? startDate : startDate.plusMonths(1).withDayOfMonth(1);
+        LocalDate lastMonthEnd = endDate.plusDays(1).getDayOfMonth() == 1 ? endDate : endDate.withDayOfMonth(1).minusDays(1);
+        List<ShortLinkStatsAccessRespDTO> stats = new ArrayList<>();
+        if (firstMonth.isAfter(lastMonthEnd)) {
+            baseMapper.listDayStats(gid, fullShortUrl, Date.valueOf(startDate), Date.valueOf(endDate))
+                    .forEach(each -> stats.add(toAccessResp(each, false)));
+        } else {
+            if (startDate.isBefore(firstMonth)) {
+                baseMapper.listDayStats(gid, fullShortUrl, Date.valueOf(startDate), Date.valueOf(firstMonth.minusDays(1)))
+                        .forEach(each -> stats.add(toAccessResp(each, false)));
+            }
+            baseMapper.listMonthStats(gid, fullShortUrl, Date.valueOf(firstMonth), Date.valueOf(lastMonthEnd.withDayOfMonth(1)))
+                    .forEach(each -> stats.add(toAccessResp(each, true)));
+            if (endDate.isAfter(lastMonthEnd)) {
+                baseMapper.listDayStats(gid, fullShortUrl, Date.valueOf(lastMonthEnd.plusDays(1)), Date.valueOf(endDate))
+                        .forEach(each -> stats.add(toAccessResp(each, false)));
+            }
+        }
+        List<LinkUaStatsDO> uaStats = linkUaStatsMapper.listUaStats(gid, fullShortUrl, Date.valueOf(startDate), Date.valueOf(endDate));
+        return ShortLinkStatsRespDTO.builder()
+                .pv(stats.stream().mapToLong(ShortLinkStatsAccessRespDTO::getPv).sum())
+                .uvSum(stats.stream().mapToLong(ShortLinkStatsAccessRespDTO::getUv).sum())
+                .uipSum(stats.stream().mapToLong(ShortLinkStatsAccessRespDTO::getUip).sum())
+                .stats(stats)
+                .browserStats(toUaResp(uaStats, ShortLinkAccessStatsAggregator.UA_TYPE_BROWSER))
+                .osStats(toUaResp(uaStats, ShortLinkAccessStatsAggregator.UA_TYPE_OS))
+                .deviceStats(toUaResp(uaStats, ShortLinkAccessStatsAggregator.UA_TYPE_DEVICE))
+                .build();
+    }
+
+    @Override
+    public List<ShortLinkGroupStatsRespDTO> listGroupStats(List<String> gids) {
+        List<String> distinctGids = gids == null ? List.of() : gids.stream().filter(StrUtil::isNotBlank).distinct().toList();
+        if (distinctGids.isEmpty()) {
+            throw new ClientException("分组标识不能为空");
+        }
+        if (distinctGids.size() > linkStatsProperties.getGroupStatsMaxGids()) {
+            throw new ClientException("单次最多查询 " + linkStatsProperties.getGroupStatsMaxGids() + " 个分组");
+        }
+        Map<String, ShortLinkGroupStatsRespDTO> groupStats = groupStatsCache.getAll(distinctGids, this::loadGroupStats);
+        return distinctGids.stream().map(groupStats::get).toList();
+    }
+
+    /**
+     * 缓存未命中的分组按所在分表合并，每个分表一条 GROUP BY 查询，多个分表在统计查询线程池中并行执行；
+     * 短链接数取自分组短链接数计数，月统计表只包含有访问记录的短链接
+     */
+    private Map<String, ShortLinkGroupStatsRespDTO> loadGroupStats(Set<? extends String> gids) {
+        Map<Integer, List<String>> shardGids = new TreeMap<>();
+        gids.forEach(each -> shardGids.computeIfAbsent(LinkShardingUtil.tableIndex(each), key -> new ArrayList<>()).add(each));
+        Map<String, ShortLinkGroupStatsRespDTO> result = new HashMap<>();
+        if (shardGids.size() == 1) {
+            baseMapper.listGroupStats(shardGids.values().iterator().next()).forEach(each -> result.put(each.getGid(), each));
+        } else {
+            List<CompletableFuture<List<ShortLinkGroupStatsRespDTO>>> futures = shardGids.values().stream()
+                    .map(each -> CompletableFuture.supplyAsync(() -> baseMapper.listGroupStats(each), statsQueryExecutor))
+                    .toList();
+            try {
+                futures.forEach(each -> each.join().forEach(item -> result.put(item.getGid(), item)));
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+        gids.forEach(each -> result.computeIfAbsent(each, key -> ShortLinkGroupStatsRespDTO.builder()
+                .gid(key)
+                .pv(0L)
+                .uvSum(0L)
+                .uipSum(0L)
+                .build()));
+        shortLinkCountCache.getAll(gids).forEach((gid, count) -> result.get(gid).setLinkCount(count.intValue()));
+        return result;
+    }
+
+    private static LocalDate parseDate(String date) {
+        if (StrUtil.isBlank(date)) {
+            throw new ClientException("统计日期不能为空");
+        }
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException ex) {
+            throw new ClientException("统计日期格式错误，应为 yyyy-MM-dd");
+        }
+    }
+
+    private static List<ShortLinkStatsUaRespDTO> toUaResp(List<LinkUaStatsDO> uaStats, String type) {
+        return uaStats.stream()
+                .filter(each -> type.equals(each.getType()))
+                .map(each -> ShortLinkStatsUaRespDTO.builder()
+                        .name(each.getName())
+                        .cnt(each.getCnt())
+                        .build())
+                .toList();
+    }
+
+    private static ShortLinkStatsAccessRespDTO toAccessResp(LinkAccessStatsDO stats, boolean month) {
+        String date = new Date(stats.getDate().getTime()).toLocalDate().toString();
+        return ShortLinkStatsAccessRespDTO.builder()
+                .date(month ? date.substring(0, 7) : date)
+                .pv(stats.getPv())
+                .uv(stats.getUv())
+                .uip(stats.getUip())
+                .build();
+    }
+}
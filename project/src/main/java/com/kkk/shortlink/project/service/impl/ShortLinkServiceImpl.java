@@ -1,25 +1,85 @@
 package com.kkk.shortlink.project.service.impl;
 
-import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.lang.UUID;
+import cn.hutool.core.util.StrUtil;
 import cn.hutool.core.text.StrBuilder;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
+import com.kkk.shortlink.project.common.accesslog.ShortLinkAccessLogWriter;
+import com.kkk.shortlink.project.common.bloom.RedissonBloomFilterBatch;
+import com.kkk.shortlink.project.common.cache.ShortLinkCountCache;
+import com.kkk.shortlink.project.common.cache.ShortLinkGotoCache;
+import com.kkk.shortlink.project.common.cache.ShortLinkGotoTarget;
+import com.kkk.shortlink.project.common.convention.exception.ClientException;
 import com.kkk.shortlink.project.common.convention.exception.ServiceException;
+import com.kkk.shortlink.project.common.convert.ShortLinkConverter;
+import com.kkk.shortlink.project.common.search.ShortLinkSearchIndex;
+import com.kkk.shortlink.project.common.search.ShortLinkSearchResult;
+import com.kkk.shortlink.project.common.stats.BotUserAgentFilter;
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessEvent;
+import com.kkk.shortlink.project.common.stats.ShortLinkClickCounter;
+import com.kkk.shortlink.project.common.stats.ShortLinkClickStreamer;
+import com.kkk.shortlink.project.common.stats.ShortLinkHotTracker;
 import com.kkk.shortlink.project.dao.entity.ShortLinkDO;
+import com.kkk.shortlink.project.dao.entity.ShortLinkGotoDO;
+import com.kkk.shortlink.project.dao.mapper.ShortLinkGotoMapper;
 import com.kkk.shortlink.project.dao.mapper.ShortLinkMapper;
 import com.kkk.shortlink.project.dto.req.ShortLinkCreateReqDTO;
+import com.kkk.shortlink.project.dto.req.ShortLinkCursorPageReqDTO;
 import com.kkk.shortlink.project.dto.req.ShortLinkPageReqDTO;
+import com.kkk.shortlink.project.dto.req.ShortLinkSearchReqDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkBatchCreateItemRespDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.kkk.shortlink.project.dto.resp.ShortLinkCreateRespDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkCursorPageRespDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkGroupCountRespDTO;
+import com.kkk.shortlink.project.dto.resp.ShortLinkHotRespDTO;
 import com.kkk.shortlink.project.dto.resp.ShortLinkPageRespDTO;
+import com.kkk.shortlink.project.mq.producer.ShortLinkStatsStreamProducer;
 import com.kkk.shortlink.project.service.ShortLinkService;
-import com.kkk.shortlink.project.toolkit.HashUtil;
+import com.kkk.shortlink.project.toolkit.LinkShardingUtil;
+import com.kkk.shortlink.project.toolkit.LinkUtil;
+import com.kkk.shortlink.project.toolkit.suffix.ShortUriGenerator;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RBloomFilter;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+import static com.kkk.shortlink.project.common.constant.ShortLinkConstant.CURSOR_PAGE_MAX_SIZE;
+import static com.kkk.shortlink.project.common.constant.ShortLinkConstant.UV_COOKIE_MAX_AGE;
+import static com.kkk.shortlink.project.common.constant.ShortLinkConstant.UV_COOKIE_NAME;
 
 /**
  * 短链接接口实现层
@@ -29,9 +89,40 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLinkDO> implements ShortLinkService {
 
-    private final RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter;
+    private final ShortLinkGotoCache shortLinkGotoCache;
+    private final ShortLinkGotoMapper shortLinkGotoMapper;
+    private final ShortUriGenerator shortUriGenerator;
+    private final RedissonBloomFilterBatch redissonBloomFilterBatch;
+    private final TransactionTemplate transactionTemplate;
+    private final ShortLinkClickCounter shortLinkClickCounter;
+    private final ShortLinkStatsStreamProducer shortLinkStatsStreamProducer;
+    private final ShortLinkAccessLogWriter shortLinkAccessLogWriter;
+    private final ShortLinkHotTracker shortLinkHotTracker;
+    private final ShortLinkClickStreamer shortLinkClickStreamer;
+    private final BotUserAgentFilter botUserAgentFilter;
+
+    private final ShortLinkCountCache shortLinkCountCache;
+
+    private final ExecutorService statsQueryExecutor;
+
+    private final ShortLinkSearchIndex shortLinkSearchIndex;
+
+    /**
+     * 单次批量创建的最大条数
+     */
+    private static final int BATCH_CREATE_MAX_SIZE = 50000;
+
+    /**
+     * 批量写入时每个事务的行数
+     */
+    private static final int BATCH_INSERT_SIZE = 500;
 
+    /**
+     * 单次查询分组短链接数的最大分组数
+     */
+    private static final int GROUP_COUNT_MAX_GIDS = 100;
 
+    @Transactional(rollbackFor = Exception.class)
     @Override
     public ShortLinkCreateRespDTO createShortLink(ShortLinkCreateReqDTO requestParam) {
         String shortLinkSuffix = generateSuffix(requestParam);//短链接
@@ -52,6 +143,10 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
                 .enableStatus(0)
                 .fullShortUrl(fullShortUrl)
                 .build();
+        ShortLinkGotoDO linkGotoDO = ShortLinkGotoDO.builder()
+                .fullShortUrl(fullShortUrl)
+                .gid(requestParam.getGid())
+                .build();
 //        ShortLinkDO shortLinkDO = BeanUtil.toBean(requestParam, ShortLinkDO.class);
 //        shortLinkDO.setFullShortUrl(fullShortUrl);
 //        shortLinkDO.setEnableStatus(0);
@@ -61,23 +156,34 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
         // generateSuffix 方法生成的短链接能够保证一定是不存在于缓存中
         // 有种可能，短链接入库成功，但是却没有添加到布隆过滤器中（进程挂掉等等原因），也就是说，短链接实际上入库了，但是布隆过滤器显示不存在
         // 此时插入这个短链接就越过了布隆过滤器，被数据库的唯一索引拦截
+        // t_link 按 gid 分片，唯一索引只在单个分表内生效；t_link_goto 按完整短链接分片，其唯一索引才是全局唯一的兜底
         try {
             baseMapper.insert(shortLinkDO);//往db存
+            shortLinkGotoMapper.insert(linkGotoDO);
+            shortLinkCountCache.addAfterCommit(requestParam.getGid(), 1);
+            shortLinkSearchIndex.publishAfterCommit(List.of(shortLinkDO));
         } catch (DuplicateKeyException e) {
             //兜底处理数据库唯一约束冲突，防止短链接重复生成。即使布隆过滤器和本地生成逻辑没拦住，也能依赖数据库的唯一约束兜底。
-            //布隆过滤器存在误判 不存在的一定不存在，存在的不一定存在
-            // 误判的怎么处理？
-            // 第一种，要添加的短链接确实真实存在缓存 那确实就是重复入库
-            // 第二种，要添加的短链接不一定存在缓存 那就不是重复入库了
-            LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
-                    .eq(ShortLinkDO::getFullShortUrl, fullShortUrl);
-            ShortLinkDO hasShortLinkDO = baseMapper.selectOne(queryWrapper);
-            if (hasShortLinkDO != null) {
-                log.warn("短链接：{} 重复入库", fullShortUrl);
-                throw new ServiceException("短链接生成重复");
-            }
+            //走到这里说明两次写入至少有一次没有成功，事务随异常回滚，不能再写布隆过滤器和预热缓存，否则会把未入库的短链接标记为已存在
+            log.warn("短链接：{} 重复入库", fullShortUrl);
+            throw new ServiceException("短链接生成重复");
         }
-        shortUriCreateCachePenetrationBloomFilter.add(fullShortUrl);//将完整的短链接（域名+短链接）添加到布隆过滤器
+        //布隆过滤器与跳转缓存都在事务提交后写入，提交失败时不会留下指向不存在短链接的位和缓存
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                try {
+                    //将完整的短链接（域名+短链接）添加到布隆过滤器，同时通知各节点的本地镜像
+                    redissonBloomFilterBatch.addAll(List.of(fullShortUrl));
+                    //缓存预热 新创建的短链接通常马上会被访问
+                    shortLinkGotoCache.put(fullShortUrl, toGotoTarget(shortLinkDO));
+                } catch (RuntimeException ex) {
+                    //短链接已入库，不能再向调用方返回失败
+                    log.error("短链接：{} 已入库，写入布隆过滤器或预热跳转缓存失败", fullShortUrl, ex);
+                }
+            }
+        });
         return ShortLinkCreateRespDTO.builder()
                 .fullShortUrl(shortLinkDO.getFullShortUrl())
                 .originUrl(requestParam.getOriginUrl())
@@ -85,33 +191,432 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
                 .build();
     }
 
+    /**
+     * 批量创建短链接
+     * 1. 按域名批量生成后缀，哈希模式每轮只做一次批量布隆过滤器判重
+     * 2. 按 gid 所在分表归并，每个分表分块在一个事务内批量写入 t_link 和 t_link_goto，
+     *    JDBC 开启了 rewriteBatchedStatements，批量语句会被改写为多行 INSERT
+     * 3. 某一块写入失败时整块回滚，再逐条写入以定位失败的条目
+     * 4. 所有写入成功的完整短链接通过一次管道加入布隆过滤器
+     */
+    @Override
+    public ShortLinkBatchCreateRespDTO batchCreateShortLink(List<ShortLinkCreateReqDTO> requestParam) {
+        if (CollUtil.isEmpty(requestParam)) {
+            throw new ClientException("批量创建短链接列表不能为空");
+        }
+        if (requestParam.size() > BATCH_CREATE_MAX_SIZE) {
+            throw new ClientException("单次最多批量创建" + BATCH_CREATE_MAX_SIZE + "条短链接");
+        }
+        int total = requestParam.size();
+        ShortLinkBatchCreateItemRespDTO[] results = new ShortLinkBatchCreateItemRespDTO[total];
+        ShortLinkDO[] shortLinkDOs = new ShortLinkDO[total];
+        Map<String, List<Integer>> domainIndexes = new LinkedHashMap<>();
+        for (int i = 0; i < total; i++) {
+            ShortLinkCreateReqDTO each = requestParam.get(i);
+            if (each == null || StrUtil.hasBlank(each.getDomain(), each.getOriginUrl(), each.getGid())) {
+                results[i] = batchCreateFailure(i, each, "域名、原始链接和分组标识不能为空");
+                continue;
+            }
+            domainIndexes.computeIfAbsent(each.getDomain(), key -> new ArrayList<>()).add(i);
+        }
+        domainIndexes.forEach((domain, indexes) -> {
+            List<String> shortUris;
+            try {
+                shortUris = shortUriGenerator.generateBatch(domain, indexes.stream().map(each -> requestParam.get(each).getOriginUrl()).toList());
+            } catch (ServiceException ex) {
+                indexes.forEach(each -> results[each] = batchCreateFailure(each, requestParam.get(each), ex.getErrorMessage()));
+                return;
+            }
+            for (int i = 0; i < indexes.size(); i++) {
+                Integer index = indexes.get(i);
+                //单条重试次数用尽只标记该条失败，同一域名下其余条目照常写入
+                if (shortUris.get(i) == null) {
+                    results[index] = batchCreateFailure(index, requestParam.get(index), "短链接频繁生成，请稍后再试");
+                    continue;
+                }
+                shortLinkDOs[index] = buildShortLinkDO(requestParam.get(index), shortUris.get(i));
+            }
+        });
+        Map<Integer, List<Integer>> shardIndexes = new TreeMap<>();
+        for (int i = 0; i < total; i++) {
+            if (shortLinkDOs[i] != null) {
+                shardIndexes.computeIfAbsent(LinkShardingUtil.tableIndex(shortLinkDOs[i].getGid()), key -> new ArrayList<>()).add(i);
+            }
+        }
+        List<String> createdFullShortUrls = new ArrayList<>();
+        Map<String, Long> createdCounts = new HashMap<>();
+        List<ShortLinkDO> createdShortLinks = new ArrayList<>();
+        shardIndexes.values().forEach(indexes -> ListUtil.partition(indexes, BATCH_INSERT_SIZE).forEach(chunk -> {
+            List<ShortLinkDO> chunkLinks = chunk.stream().map(each -> shortLinkDOs[each]).toList();
+            if (saveBatchInTransaction(chunkLinks)) {
+                chunk.forEach(each -> results[each] = batchCreateSuccess(each, shortLinkDOs[each]));
+                chunkLinks.forEach(each -> {
+                    createdFullShortUrls.add(each.getFullShortUrl());
+                    createdCounts.merge(each.getGid(), 1L, Long::sum);
+                });
+                createdShortLinks.addAll(chunkLinks);
+                return;
+            }
+            chunk.forEach(each -> {
+                String failureMessage = saveInTransaction(shortLinkDOs[each]);
+                if (failureMessage == null) {
+                    results[each] = batchCreateSuccess(each, shortLinkDOs[each]);
+                    createdFullShortUrls.add(shortLinkDOs[each].getFullShortUrl());
+                    createdCounts.merge(shortLinkDOs[each].getGid(), 1L, Long::sum);
+                    createdShortLinks.add(shortLinkDOs[each]);
+                } else {
+                    results[each] = batchCreateFailure(each, requestParam.get(each), failureMessage);
+                }
+            });
+        }));
+        redissonBloomFilterBatch.addAll(createdFullShortUrls);
+        shortLinkCountCache.addAll(createdCounts);
+        shortLinkSearchIndex.publishAfterCommit(createdShortLinks);
+        return ShortLinkBatchCreateRespDTO.builder()
+                .total(total)
+                .successCount(createdFullShortUrls.size())
+                .results(Arrays.asList(results))
+                .build();
+    }
+
     @Override
     public IPage<ShortLinkPageRespDTO> pageShortLink(ShortLinkPageReqDTO requestParam) {
-        LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
-                .eq(ShortLinkDO::getGid, requestParam.getGid())
-                .eq(ShortLinkDO::getEnableStatus, 0)
-                .eq(ShortLinkDO::getDelFlag, 0)
+        LambdaQueryWrapper<ShortLinkDO> queryWrapper = pageQueryWrapper(requestParam.getGid())
                 .orderByDesc(ShortLinkDO::getCreateTime);
+        //总数取自分组短链接数缓存，不再对分表执行 COUNT(*)
+        requestParam.setSearchCount(false);
         IPage<ShortLinkDO> resultPage = baseMapper.selectPage(requestParam, queryWrapper);
-        return resultPage.convert(each -> BeanUtil.toBean(each, ShortLinkPageRespDTO.class));
+        resultPage.setTotal(shortLinkCountCache.get(requestParam.getGid()));
+        return resultPage.convert(ShortLinkConverter::toPageResp);
     }
 
-    private String generateSuffix(ShortLinkCreateReqDTO requestParam){
-        int customGenerateCount = 0;
-        String shortUri;
-        while (true){
-            if (customGenerateCount > 10){
-                throw new ServiceException("短链接频繁生成，请稍后再试");
+    @Override
+    public ShortLinkCursorPageRespDTO cursorPageShortLink(ShortLinkCursorPageReqDTO requestParam) {
+        if (StrUtil.isBlank(requestParam.getGid())) {
+            throw new ClientException("分组标识不能为空");
+        }
+        if ((requestParam.getLastCreateTime() == null) != (requestParam.getLastId() == null)) {
+            throw new ClientException("游标创建时间与 id 需同时传入");
+        }
+        int size = Math.min(Math.max(Optional.ofNullable(requestParam.getSize()).orElse(10), 1), CURSOR_PAGE_MAX_SIZE);
+        boolean hasCursor = requestParam.getLastId() != null;
+        Date lastCreateTime = hasCursor ? new Date(requestParam.getLastCreateTime()) : null;
+        //按 (gid, enable_status, del_flag, create_time, id) 索引从游标位置向后扫描 size + 1 行，不统计总数，耗时与页深无关
+        LambdaQueryWrapper<ShortLinkDO> queryWrapper = pageQueryWrapper(requestParam.getGid())
+                .and(hasCursor, wrapper -> wrapper.lt(ShortLinkDO::getCreateTime, lastCreateTime)
+                        .or(each -> each.eq(ShortLinkDO::getCreateTime, lastCreateTime).lt(ShortLinkDO::getId, requestParam.getLastId())))
+                .orderByDesc(ShortLinkDO::getCreateTime)
+                .orderByDesc(ShortLinkDO::getId)
+                .last("LIMIT " + (size + 1));
+        List<ShortLinkDO> shortLinkDOList = baseMapper.selectList(queryWrapper);
+        boolean hasMore = shortLinkDOList.size() > size;
+        List<ShortLinkDO> records = hasMore ? shortLinkDOList.subList(0, size) : shortLinkDOList;
+        ShortLinkDO last = CollUtil.getLast(records);
+        return ShortLinkCursorPageRespDTO.builder()
+                .records(ShortLinkConverter.toPageRespList(records))
+                .hasMore(hasMore)
+                .nextCreateTime(hasMore ? last.getCreateTime().getTime() : null)
+                .nextId(hasMore ? last.getId() : null)
+                .build();
+    }
+
+    /**
+     * 短链接搜索
+     * 本地索引按得分排序并分页，只取当前页的完整短链接回表查询分页返回参数，回表带分片键只路由到单个分表；
+     * 索引中已停用或删除的短链接在回表时过滤，不计入当前页
+     */
+    @Override
+    public IPage<ShortLinkPageRespDTO> searchShortLink(ShortLinkSearchReqDTO requestParam) {
+        if (StrUtil.isBlank(requestParam.getGid())) {
+            throw new ClientException("分组标识不能为空");
+        }
+        if (StrUtil.isBlank(requestParam.getQ())) {
+            throw new ClientException("查询内容不能为空");
+        }
+        ShortLinkSearchResult result = shortLinkSearchIndex.search(requestParam.getGid(), requestParam.getQ(), requestParam.getCurrent(), requestParam.getSize());
+        Page<ShortLinkPageRespDTO> resultPage = new Page<>(requestParam.getCurrent(), requestParam.getSize(), result.total());
+        if (result.fullShortUrls().isEmpty()) {
+            return resultPage;
+        }
+        Map<String, ShortLinkDO> shortLinkDOMap = new HashMap<>();
+        baseMapper.selectList(pageQueryWrapper(requestParam.getGid()).in(ShortLinkDO::getFullShortUrl, result.fullShortUrls()))
+                .forEach(each -> shortLinkDOMap.put(each.getFullShortUrl(), each));
+        resultPage.setRecords(result.fullShortUrls().stream()
+                .map(shortLinkDOMap::get)
+                .filter(Objects::nonNull)
+                .map(ShortLinkConverter::toPageResp)
+                .toList());
+        return resultPage;
+    }
+
+    /**
+     * 批量查询分组短链接数
+     * 分组按所在分表合并，每个分表一条 GROUP BY 查询，多个分表在统计查询线程池中并行执行，查询次数与分表数相关而与分组数无关
+     */
+    @Override
+    public List<ShortLinkGroupCountRespDTO> listGroupShortLinkCount(List<String> gids) {
+        List<String> distinctGids = gids == null ? List.of() : gids.stream().filter(StrUtil::isNotBlank).distinct().toList();
+        if (distinctGids.isEmpty()) {
+            throw new ClientException("分组标识不能为空");
+        }
+        if (distinctGids.size() > GROUP_COUNT_MAX_GIDS) {
+            throw new ClientException("单次最多查询 " + GROUP_COUNT_MAX_GIDS + " 个分组");
+        }
+        Map<Integer, List<String>> shardGids = new TreeMap<>();
+        distinctGids.forEach(each -> shardGids.computeIfAbsent(LinkShardingUtil.tableIndex(each), key -> new ArrayList<>()).add(each));
+        Map<String, Integer> counts = new HashMap<>();
+        if (shardGids.size() == 1) {
+            baseMapper.listGroupLinkCount(distinctGids).forEach(each -> counts.put(each.getGid(), each.getShortLinkCount()));
+        } else {
+            List<CompletableFuture<List<ShortLinkGroupCountRespDTO>>> futures = shardGids.values().stream()
+                    .map(each -> CompletableFuture.supplyAsync(() -> baseMapper.listGroupLinkCount(each), statsQueryExecutor))
+                    .toList();
+            try {
+                futures.forEach(each -> each.join().forEach(item -> counts.put(item.getGid(), item.getShortLinkCount())));
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
             }
-            String originUrl = requestParam.getOriginUrl();
-            originUrl += System.currentTimeMillis();
-            shortUri = HashUtil.hashToBase62(originUrl);
-            //判断生成的短链接是否存在于布隆过滤器 完整的短链接不能重复 如果存在说明重复
-            if (!shortUriCreateCachePenetrationBloomFilter.contains(requestParam.getDomain()+"/"+ shortUri)){
-                break;//如果布隆过滤器中不包括新生成的这个短链接，那这个就可用，跳出while循环
+        }
+        return distinctGids.stream()
+                .map(each -> ShortLinkGroupCountRespDTO.builder().gid(each).shortLinkCount(counts.getOrDefault(each, 0)).build())
+                .toList();
+    }
+
+    /**
+     * 分组内启用中的短链接，只查询分页返回参数需要的列及游标列，不读取点击量等其他列
+     */
+    private LambdaQueryWrapper<ShortLinkDO> pageQueryWrapper(String gid) {
+        return Wrappers.lambdaQuery(ShortLinkDO.class)
+                .select(ShortLinkDO::getId, ShortLinkDO::getDomain, ShortLinkDO::getShortUri, ShortLinkDO::getFullShortUrl,
+                        ShortLinkDO::getOriginUrl, ShortLinkDO::getGid, ShortLinkDO::getValidDateType, ShortLinkDO::getValidDate,
+                        ShortLinkDO::getDescribe, ShortLinkDO::getFavicon, ShortLinkDO::getCreateTime)
+                .eq(ShortLinkDO::getGid, gid)
+                .eq(ShortLinkDO::getEnableStatus, 0)
+                .eq(ShortLinkDO::getDelFlag, 0);
+    }
+
+    @SneakyThrows
+    @Override
+    public void restoreUrl(String shortUri, ServletRequest request, ServletResponse response) {
+        String serverPort = Optional.of(request.getServerPort())
+                .filter(each -> !Objects.equals(each, 80))
+                .map(each -> ":" + each)
+                .orElse("");
+        String fullShortUrl = request.getServerName() + serverPort + "/" + shortUri;
+        //本地缓存 -> Redis -> 数据库，稳定状态下命中本地缓存不产生任何网络调用
+        ShortLinkGotoTarget gotoTarget = shortLinkGotoCache.get(fullShortUrl, this::loadGotoTarget);
+        if (gotoTarget == null) {
+            ((HttpServletResponse) response).sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        //爬虫与链接预览机器人正常跳转，不计点击量、不参与热点统计、不产生访问记录
+        if (botUserAgentFilter.isBot(((HttpServletRequest) request).getHeader("User-Agent"))) {
+            ((HttpServletResponse) response).sendRedirect(gotoTarget.getOriginUrl());
+            return;
+        }
+        //点击量先在本地累加，定时批量写回 t_link
+        shortLinkClickCounter.increment(gotoTarget.getGid(), fullShortUrl);
+        //新进入 Top-K 的热点短链接常驻本地缓存
+        if (shortLinkHotTracker.record(gotoTarget.getGid(), fullShortUrl)) {
+            shortLinkGotoCache.pin(fullShortUrl);
+        }
+        ShortLinkAccessEvent accessEvent = buildAccessEvent(shortUri, fullShortUrl, gotoTarget.getGid(),
+                (HttpServletRequest) request, (HttpServletResponse) response);
+        //访问事件异步写入 Redis Stream，由消费者聚合写库，不占用跳转耗时
+        shortLinkStatsStreamProducer.send(accessEvent);
+        //原始访问记录写入本地内存映射日志，后台批量入库
+        shortLinkAccessLogWriter.append(accessEvent);
+        ((HttpServletResponse) response).sendRedirect(gotoTarget.getOriginUrl());
+    }
+
+    @Override
+    public List<ShortLinkHotRespDTO> listHotShortLink() {
+        return shortLinkHotTracker.topK().stream()
+                .map(each -> ShortLinkHotRespDTO.builder()
+                        .gid(each.getGid())
+                        .fullShortUrl(each.getFullShortUrl())
+                        .hits(each.getHits())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public SseEmitter subscribeClickDelta(String gid) {
+        if (StrUtil.isBlank(gid)) {
+            throw new ClientException("分组标识不能为空");
+        }
+        return shortLinkClickStreamer.subscribe(gid);
+    }
+
+    /**
+     * 构建访问事件，访客首次访问时下发访客标识 Cookie
+     */
+    private ShortLinkAccessEvent buildAccessEvent(String shortUri, String fullShortUrl, String gid,
+                                                  HttpServletRequest request, HttpServletResponse response) {
+        String uv = Optional.ofNullable(request.getCookies())
+                .flatMap(cookies -> Arrays.stream(cookies)
+                        .filter(each -> Objects.equals(each.getName(), UV_COOKIE_NAME))
+                        .map(Cookie::getValue)
+                        .findFirst())
+                .orElse(null);
+        if (StrUtil.isBlank(uv)) {
+            uv = UUID.fastUUID().toString(true);
+            Cookie uvCookie = new Cookie(UV_COOKIE_NAME, uv);
+            uvCookie.setMaxAge(UV_COOKIE_MAX_AGE);
+            uvCookie.setPath("/" + shortUri);
+            response.addCookie(uvCookie);
+        }
+        return ShortLinkAccessEvent.builder()
+                .fullShortUrl(fullShortUrl)
+                .gid(gid)
+                .uv(uv)
+                .ip(LinkUtil.getActualIp(request))
+                .ua(request.getHeader("User-Agent"))
+                .referer(request.getHeader("Referer"))
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    /**
+     * 缓存未命中时从数据库加载短链接跳转目标
+     * 先按完整短链接查路由表拿到 gid，再按 gid + 完整短链接查 t_link，两次都是单分片点查
+     * @param fullShortUrl 完整短链接
+     * @return 跳转目标，短链接不存在、未启用或已过期返回 null
+     */
+    private ShortLinkGotoTarget loadGotoTarget(String fullShortUrl) {
+        LambdaQueryWrapper<ShortLinkGotoDO> gotoQueryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
+                .eq(ShortLinkGotoDO::getFullShortUrl, fullShortUrl);
+        ShortLinkGotoDO linkGotoDO = shortLinkGotoMapper.selectOne(gotoQueryWrapper);
+        ShortLinkDO shortLinkDO = linkGotoDO != null
+                ? selectGotoColumns(linkGotoDO.getGid(), fullShortUrl)
+                : selectLegacyGotoColumns(fullShortUrl);
+        if (shortLinkDO == null) {
+            return null;
+        }
+        ShortLinkGotoTarget gotoTarget = toGotoTarget(shortLinkDO);
+        return gotoTarget.isExpired() ? null : gotoTarget;
+    }
+
+    private ShortLinkDO selectGotoColumns(String gid, String fullShortUrl) {
+        LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
+                .select(ShortLinkDO::getGid, ShortLinkDO::getOriginUrl, ShortLinkDO::getValidDateType, ShortLinkDO::getValidDate)
+                .eq(ShortLinkDO::getGid, gid)
+                .eq(ShortLinkDO::getFullShortUrl, fullShortUrl)
+                .eq(ShortLinkDO::getEnableStatus, 0)
+                .eq(ShortLinkDO::getDelFlag, 0);
+        return baseMapper.selectOne(queryWrapper);
+    }
+
+    /**
+     * 路由表上线前创建的短链接没有路由记录，只能广播查询 t_link，查到后补写路由记录，之后的回源即可走单分片
+     */
+    private ShortLinkDO selectLegacyGotoColumns(String fullShortUrl) {
+        LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
+                .select(ShortLinkDO::getGid, ShortLinkDO::getOriginUrl, ShortLinkDO::getValidDateType, ShortLinkDO::getValidDate)
+                .eq(ShortLinkDO::getFullShortUrl, fullShortUrl)
+                .eq(ShortLinkDO::getEnableStatus, 0)
+                .eq(ShortLinkDO::getDelFlag, 0);
+        ShortLinkDO shortLinkDO = baseMapper.selectOne(queryWrapper);
+        if (shortLinkDO != null) {
+            try {
+                shortLinkGotoMapper.insert(ShortLinkGotoDO.builder().fullShortUrl(fullShortUrl).gid(shortLinkDO.getGid()).build());
+            } catch (DuplicateKeyException ignored) {
+                //并发回源时其他请求已补写
             }
-            customGenerateCount++;
         }
-        return shortUri;
+        return shortLinkDO;
+    }
+
+    /**
+     * 在一个事务内批量写入同一分表的短链接及其路由记录
+     *
+     * @return 写入失败并已回滚时返回 false
+     */
+    private boolean saveBatchInTransaction(List<ShortLinkDO> shortLinkDOs) {
+        List<ShortLinkGotoDO> linkGotoDOs = shortLinkDOs.stream()
+                .map(each -> ShortLinkGotoDO.builder().fullShortUrl(each.getFullShortUrl()).gid(each.getGid()).build())
+                .toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                saveBatch(shortLinkDOs, shortLinkDOs.size());
+                Db.saveBatch(linkGotoDOs, linkGotoDOs.size());
+            });
+            return true;
+        } catch (DataAccessException ex) {
+            log.warn("短链接批量写入失败，改为逐条写入，条数：{}", shortLinkDOs.size(), ex);
+            return false;
+        }
+    }
+
+    /**
+     * 在一个事务内写入单条短链接及其路由记录
+     *
+     * @return 写入成功返回 null，否则返回失败原因
+     */
+    private String saveInTransaction(ShortLinkDO shortLinkDO) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                baseMapper.insert(shortLinkDO);
+                shortLinkGotoMapper.insert(ShortLinkGotoDO.builder().fullShortUrl(shortLinkDO.getFullShortUrl()).gid(shortLinkDO.getGid()).build());
+            });
+            return null;
+        } catch (DuplicateKeyException ex) {
+            log.warn("短链接：{} 重复入库", shortLinkDO.getFullShortUrl());
+            return "短链接生成重复";
+        } catch (DataAccessException ex) {
+            log.error("短链接：{} 写入失败", shortLinkDO.getFullShortUrl(), ex);
+            return "短链接保存失败";
+        }
+    }
+
+    private ShortLinkDO buildShortLinkDO(ShortLinkCreateReqDTO requestParam, String shortUri) {
+        return ShortLinkDO.builder()
+                .domain(requestParam.getDomain())
+                .originUrl(requestParam.getOriginUrl())
+                .gid(requestParam.getGid())
+                .createdType(requestParam.getCreatedType())
+                .validDateType(requestParam.getValidDateType())
+                .validDate(requestParam.getValidDate())
+                .describe(requestParam.getDescribe())
+                .shortUri(shortUri)
+                .enableStatus(0)
+                .fullShortUrl(requestParam.getDomain() + "/" + shortUri)
+                .build();
+    }
+
+    private ShortLinkBatchCreateItemRespDTO batchCreateSuccess(int index, ShortLinkDO shortLinkDO) {
+        return ShortLinkBatchCreateItemRespDTO.builder()
+                .index(index)
+                .gid(shortLinkDO.getGid())
+                .originUrl(shortLinkDO.getOriginUrl())
+                .fullShortUrl(shortLinkDO.getFullShortUrl())
+                .success(Boolean.TRUE)
+                .build();
+    }
+
+    private ShortLinkBatchCreateItemRespDTO batchCreateFailure(int index, ShortLinkCreateReqDTO requestParam, String message) {
+        return ShortLinkBatchCreateItemRespDTO.builder()
+                .index(index)
+                .gid(requestParam == null ? null : requestParam.getGid())
+                .originUrl(requestParam == null ? null : requestParam.getOriginUrl())
+                .success(Boolean.FALSE)
+                .message(message)
+                .build();
+    }
+
+    private ShortLinkGotoTarget toGotoTarget(ShortLinkDO shortLinkDO) {
+        //有效期类型 0永久有效 1自定义有效期
+        Long expireTime = Objects.equals(shortLinkDO.getValidDateType(), 1) && shortLinkDO.getValidDate() != null
+                ? shortLinkDO.getValidDate().getTime()
+                : null;
+        return ShortLinkGotoTarget.builder()
+                .gid(shortLinkDO.getGid())
+                .originUrl(shortLinkDO.getOriginUrl())
+                .expireTime(expireTime)
+                .build();
+    }
+
+    private String generateSuffix(ShortLinkCreateReqDTO requestParam){
+        return shortUriGenerator.generate(requestParam.getDomain(), requestParam.getOriginUrl());
     }
 }
@@ -0,0 +1,126 @@
+package com.kkk.shortlink.project.toolkit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * ASCII 多模式匹配自动机，忽略大小写
+ * 构建时把失败指针预先展开成完整的状态转移表，匹配时每个字符只做一次数组查找，耗时与文本长度成正比且不分配对象
+ */
+public final class AhoCorasickMatcher {
+
+    private static final int ALPHABET = 128;
+
+    /**
+     * 状态转移表，下标为 状态 * 128 + 字符
+     */
+    private final int[] transitions;
+
+    /**
+     * 到达该状态时匹配到的模式下标，包括沿失败指针可达的模式，-1 表示无
+     */
+    private final int[] outputs;
+
+    /**
+     * @param patterns 模式串，只能包含 ASCII 字符，不能为空串
+     */
+    public AhoCorasickMatcher(List<String> patterns) {
+        List<int[]> gotos = new ArrayList<>();
+        List<Integer> outputList = new ArrayList<>();
+        gotos.add(newState());
+        outputList.add(-1);
+        for (int i = 0; i < patterns.size(); i++) {
+            String pattern = patterns.get(i);
+            if (pattern == null || pattern.isEmpty()) {
+                throw new IllegalArgumentException("模式串不能为空");
+            }
+            int state = 0;
+            for (int j = 0; j < pattern.length(); j++) {
+                int c = normalize(pattern.charAt(j));
+                if (c < 0) {
+                    throw new IllegalArgumentException("模式串只能包含 ASCII 字符：" + pattern);
+                }
+                if (gotos.get(state)[c] < 0) {
+                    gotos.get(state)[c] = gotos.size();
+                    gotos.add(newState());
+                    outputList.add(-1);
+                }
+                state = gotos.get(state)[c];
+            }
+            if (outputList.get(state) < 0) {
+                outputList.set(state, i);
+            }
+        }
+        int stateCount = gotos.size();
+        int[] fails = new int[stateCount];
+        transitions = new int[stateCount * ALPHABET];
+        outputs = new int[stateCount];
+        Deque<Integer> queue = new ArrayDeque<>();
+        //按层遍历，处理某个状态时其失败状态所在的更浅层已全部展开
+        for (int c = 0; c < ALPHABET; c++) {
+            int child = gotos.get(0)[c];
+            transitions[c] = Math.max(child, 0);
+            if (child > 0) {
+                queue.add(child);
+            }
+        }
+        outputs[0] = -1;
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int output = outputList.get(state);
+            outputs[state] = output >= 0 ? output : outputs[fails[state]];
+            for (int c = 0; c < ALPHABET; c++) {
+                int child = gotos.get(state)[c];
+                int fallback = transitions[fails[state] * ALPHABET + c];
+                if (child > 0) {
+                    fails[child] = fallback;
+                    transitions[state * ALPHABET + c] = child;
+                    queue.add(child);
+                } else {
+                    transitions[state * ALPHABET + c] = fallback;
+                }
+            }
+        }
+    }
+
+    /**
+     * 查找文本中出现的第一个模式串
+     *
+     * @return 最先结束的匹配对应的模式下标，未匹配返回 -1
+     */
+    public int match(CharSequence text) {
+        if (text == null) {
+            return -1;
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int c = normalize(text.charAt(i));
+            if (c < 0) {
+                //模式串不含非 ASCII 字符，跨过该字符的匹配都不成立
+                state = 0;
+                continue;
+            }
+            state = transitions[state * ALPHABET + c];
+            if (outputs[state] >= 0) {
+                return outputs[state];
+            }
+        }
+        return -1;
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    private static int normalize(char c) {
+        if (c >= ALPHABET) {
+            return -1;
+        }
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+}
@@ -2,6 +2,11 @@ package com.kkk.shortlink.project.toolkit;
 
 import cn.hutool.core.lang.hash.MurmurHash;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
 /**
  * HASH 工具类
  */
@@ -15,14 +20,78 @@ public class HashUtil {
 
     private static final int SIZE = CHARS.length;
 
+    /**
+     * 字符到 Base62 数值的映射，非法字符为 -1
+     */
+    private static final byte[] DIGITS = new byte[128];
+
+    /**
+     * 哈希值映射到 [0, 2^32) 后的 Base62 最大位数，62^6 > 2^32
+     */
+    public static final int HASH_BASE62_WIDTH = 6;
+
+    private static final int C1 = 0xcc9e2d51;
+
+    private static final int C2 = 0x1b873593;
+
+    /**
+     * 按小端从字节数组读取 int
+     */
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    static {
+        Arrays.fill(DIGITS, (byte) -1);
+        for (int i = 0; i < SIZE; i++) {
+            DIGITS[CHARS[i]] = (byte) i;
+        }
+    }
+
+    /**
+     * 不定长 Base62 编码，从数组末尾向前填充，无需 StringBuilder 反转
+     */
     private static String convertDecToBase62(long num) {
-        StringBuilder sb = new StringBuilder();
+        char[] chars = new char[11];
+        int position = chars.length;
         while (num > 0) {
-            int i = (int) (num % SIZE);
-            sb.append(CHARS[i]);
+            chars[--position] = CHARS[(int) (num % SIZE)];
             num /= SIZE;
         }
-        return sb.reverse().toString();
+        return new String(chars, position, chars.length - position);
+    }
+
+    /**
+     * 定长 Base62 编码，高位不足补 0
+     * @param num 非负整数
+     * @param width 编码位数
+     */
+    public static String toBase62(long num, int width) {
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = CHARS[(int) (num % SIZE)];
+            num /= SIZE;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Base62 解码，{@link #toBase62} 与哈希编码的逆运算，高位的 0 不影响结果
+     * @param base62 Base62 字符串
+     * @return 非负整数
+     */
+    public static long base62ToLong(CharSequence base62) {
+        if (base62.length() > 11) {
+            throw new IllegalArgumentException("Base62 字符串过长: " + base62);
+        }
+        long num = 0;
+        for (int i = 0; i < base62.length(); i++) {
+            char c = base62.charAt(i);
+            int digit = c < DIGITS.length ? DIGITS[c] : -1;
+            if (digit < 0) {
+                throw new IllegalArgumentException("非法 Base62 字符串: " + base62);
+            }
+            num = Math.addExact(Math.multiplyExact(num, SIZE), digit);
+        }
+        return num;
     }
 
     public static String hashToBase62(String str) {
@@ -30,4 +99,102 @@ public class HashUtil {
         long num = i < 0 ? Integer.MAX_VALUE - (long) i : i;
         return convertDecToBase62(num);
     }
+
+    /**
+     * 兼容模式：结果与 {@code hashToBase62(new String(utf8Bytes, UTF_8) + salt)} 完全一致，但不拼接临时字符串
+     * @param utf8Bytes 原始字符串的 UTF-8 编码，重试时可复用
+     * @param salt 盐，按十进制字符串参与哈希
+     */
+    public static String hashToBase62(byte[] utf8Bytes, long salt) {
+        return convertDecToBase62(hashToLong(utf8Bytes, salt));
+    }
+
+    /**
+     * 定长模式：与兼容模式哈希值相同，编码固定为 {@link #HASH_BASE62_WIDTH} 位，高位不足补 0
+     * @param utf8Bytes 原始字符串的 UTF-8 编码，重试时可复用
+     * @param salt 盐，按十进制字符串参与哈希
+     */
+    public static String hashToFixedBase62(byte[] utf8Bytes, long salt) {
+        return toBase62(hashToLong(utf8Bytes, salt), HASH_BASE62_WIDTH);
+    }
+
+    /**
+     * 映射方式同 {@link #hashToBase62(String)}，有符号哈希值映射到 [0, 2^32)
+     */
+    private static long hashToLong(byte[] utf8Bytes, long salt) {
+        int i = murmurHash32(utf8Bytes, salt);
+        return i < 0 ? Integer.MAX_VALUE - (long) i : i;
+    }
+
+    /**
+     * MurmurHash3 x86_32（种子 0），与 hutool MurmurHash.hash32 对 {@code 原始字符串 + salt} 的计算结果一致。
+     * 原始字节按小端 int 整块读取，剩余不足 4 字节的部分与盐的十进制字符逐字节拼入数据块 k1，不生成拼接后的字节数组
+     */
+    static int murmurHash32(byte[] data, long salt) {
+        int hash = 0;
+        int blockEnd = data.length & ~3;
+        for (int i = 0; i < blockEnd; i += 4) {
+            hash = mixH1(hash, (int) INT_LE.get(data, i));
+        }
+        int k1 = 0;
+        int length = blockEnd;
+        for (int i = blockEnd; i < data.length; i++) {
+            k1 |= (data[i] & 0xFF) << ((length++ & 3) << 3);
+        }
+        //按负数处理盐，Long.MIN_VALUE 取反不会溢出
+        long negative = salt;
+        if (salt < 0) {
+            k1 |= '-' << ((length & 3) << 3);
+            if ((length++ & 3) == 3) {
+                hash = mixH1(hash, k1);
+                k1 = 0;
+            }
+        } else {
+            negative = -salt;
+        }
+        //先从低位取出各位数字，每位 4 比特暂存在两个 long 中，再从高位开始写入；除数为常量，JIT 会优化为乘法
+        long lowDigits = 0;
+        long highDigits = 0;
+        int digitCount = 0;
+        do {
+            long digit = -(negative % 10);
+            negative /= 10;
+            if (digitCount < 16) {
+                lowDigits |= digit << (digitCount << 2);
+            } else {
+                highDigits |= digit << ((digitCount - 16) << 2);
+            }
+            digitCount++;
+        } while (negative != 0);
+        for (int d = digitCount - 1; d >= 0; d--) {
+            int digit = (int) ((d < 16 ? lowDigits >>> (d << 2) : highDigits >>> ((d - 16) << 2)) & 0xF);
+            k1 |= ('0' + digit) << ((length & 3) << 3);
+            if ((length++ & 3) == 3) {
+                hash = mixH1(hash, k1);
+                k1 = 0;
+            }
+        }
+        if ((length & 3) != 0) {
+            hash ^= mixK1(k1);
+        }
+        hash ^= length;
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private static int mixK1(int k1) {
+        k1 *= C1;
+        k1 = Integer.rotateLeft(k1, 15);
+        return k1 * C2;
+    }
+
+    private static int mixH1(int hash, int k1) {
+        hash ^= mixK1(k1);
+        hash = Integer.rotateLeft(hash, 13);
+        return hash * 5 + 0xe6546b64;
+    }
 }
@@ -0,0 +1,23 @@
+package com.kkk.shortlink.project.toolkit;
+
+/**
+ * 短链接分片工具类
+ * 与 shardingsphere-config.yaml 中的 HASH_MOD 分片算法保持一致，用于在应用内按分片归并数据
+ */
+public class LinkShardingUtil {
+
+    /**
+     * t_link、t_link_goto 分表数量，对应 sharding-count
+     */
+    public static final int SHARDING_COUNT = 16;
+
+    /**
+     * 计算分片键所在分表下标，算法同 ShardingSphere HASH_MOD：abs(hashCode) % sharding-count
+     *
+     * @param shardingValue 分片键，t_link 为 gid，t_link_goto 为完整短链接
+     * @return 分表下标
+     */
+    public static int tableIndex(String shardingValue) {
+        return (int) (Math.abs((long) shardingValue.hashCode()) % SHARDING_COUNT);
+    }
+}
@@ -0,0 +1,29 @@
+package com.kkk.shortlink.project.toolkit;
+
+import cn.hutool.core.util.StrUtil;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 短链接请求工具类
+ */
+public class LinkUtil {
+
+    private static final String[] IP_HEADERS = {"X-Forwarded-For", "X-Real-IP", "Proxy-Client-IP", "WL-Proxy-Client-IP"};
+
+    /**
+     * 获取访客真实 IP，经过代理时取转发头中的第一个地址
+     *
+     * @param request 请求
+     * @return 访客 IP
+     */
+    public static String getActualIp(HttpServletRequest request) {
+        for (String header : IP_HEADERS) {
+            String ip = request.getHeader(header);
+            if (StrUtil.isNotBlank(ip) && !"unknown".equalsIgnoreCase(ip)) {
+                int index = ip.indexOf(',');
+                return (index < 0 ? ip : ip.substring(0, index)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,64 @@
+package com.kkk.shortlink.project.toolkit;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 请求合并工具类
+ * 同一个 Key 同一时刻只有一个线程执行加载逻辑，其余并发请求等待并共享该次加载结果
+ *
+ * @param <K> Key 类型
+ * @param <V> 加载结果类型
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlightLoads = new ConcurrentHashMap<>();
+
+    /**
+     * 执行加载逻辑
+     *
+     * @param key    合并请求的 Key
+     * @param loader 加载逻辑，同一 Key 并发调用时只会执行一次
+     * @return 加载结果，等待者与执行者拿到同一结果；加载抛出的异常同样会抛给所有等待者
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = inFlightLoads.putIfAbsent(key, future);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightLoads.remove(key, future);
+        }
+    }
+
+    /**
+     * 当前正在加载的 Key 数量
+     */
+    public int inFlightCount() {
+        return inFlightLoads.size();
+    }
+
+    private V await(CompletableFuture<V> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.kkk.shortlink.project.toolkit.suffix;
+
+import com.kkk.shortlink.project.common.convention.exception.ServiceException;
+import com.kkk.shortlink.project.toolkit.HashUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 哈希模式短链接后缀生成器
+ * 原始链接以随机数为盐哈希为 Base62，完整短链接已存在时换一个盐重试；
+ * 盐不取时间戳，同一毫秒内的重试或并发请求得到的候选不会相同
+ */
+public class HashShortUriGenerator implements ShortUriGenerator {
+
+    private static final int MAX_GENERATE_COUNT = 10;
+
+    /**
+     * 起始盐的上界，之后按哈希次数递增，留出递增空间不会溢出
+     */
+    private static final long SALT_BOUND = Long.MAX_VALUE >> 1;
+
+    /**
+     * 判断完整短链接是否已存在，通常为布隆过滤器
+     */
+    private final Predicate<String> fullShortUrlExists;
+
+    /**
+     * 批量判断完整短链接是否已存在，返回值与入参顺序一致
+     */
+    private final Function<List<String>, List<Boolean>> fullShortUrlsExist;
+
+    /**
+     * 是否生成定长后缀，否则与历史版本一样生成不定长后缀
+     */
+    private final boolean fixedWidth;
+
+    public HashShortUriGenerator(Predicate<String> fullShortUrlExists) {
+        this(fullShortUrlExists, fullShortUrls -> fullShortUrls.stream().map(fullShortUrlExists::test).toList(), false);
+    }
+
+    public HashShortUriGenerator(Predicate<String> fullShortUrlExists,
+                                 Function<List<String>, List<Boolean>> fullShortUrlsExist,
+                                 boolean fixedWidth) {
+        this.fullShortUrlExists = fullShortUrlExists;
+        this.fullShortUrlsExist = fullShortUrlsExist;
+        this.fixedWidth = fixedWidth;
+    }
+
+    @Override
+    public String generate(String domain, String originUrl) {
+        int customGenerateCount = 0;
+        byte[] originUrlBytes = originUrl.getBytes(StandardCharsets.UTF_8);
+        String shortUri;
+        long salt = ThreadLocalRandom.current().nextLong(SALT_BOUND);
+        while (true) {
+            if (customGenerateCount > MAX_GENERATE_COUNT) {
+                throw new ServiceException("短链接频繁生成，请稍后再试");
+            }
+            shortUri = hash(originUrlBytes, salt + customGenerateCount);
+            //判断生成的短链接是否存在于布隆过滤器 完整的短链接不能重复 如果存在说明重复
+            if (!fullShortUrlExists.test(domain + "/" + shortUri)) {
+                break;//如果布隆过滤器中不包括新生成的这个短链接，那这个就可用，跳出while循环
+            }
+            customGenerateCount++;
+        }
+        return shortUri;
+    }
+
+    /**
+     * 每轮为所有未确定的原始链接生成候选后缀，一次批量判重，只对冲突的部分重试；
+     * 重试次数用尽仍冲突的条目返回 null，不影响同一批次中已确定的后缀
+     */
+    @Override
+    public List<String> generateBatch(String domain, List<String> originUrls) {
+        String[] shortUris = new String[originUrls.size()];
+        List<Integer> pending = new ArrayList<>(originUrls.size());
+        for (int i = 0; i < originUrls.size(); i++) {
+            pending.add(i);
+        }
+        List<byte[]> originUrlBytes = originUrls.stream().map(each -> each.getBytes(StandardCharsets.UTF_8)).toList();
+        Set<String> generated = new HashSet<>();
+        //同一批次内同一原始链接可能出现多次，盐从随机数起逐个递增，保证每次哈希的输入不同
+        long salt = ThreadLocalRandom.current().nextLong(SALT_BOUND);
+        for (int customGenerateCount = 0; !pending.isEmpty() && customGenerateCount <= MAX_GENERATE_COUNT; customGenerateCount++) {
+            List<Integer> candidateIndexes = new ArrayList<>(pending.size());
+            List<String> candidates = new ArrayList<>(pending.size());
+            for (Integer index : pending) {
+                String shortUri = hash(originUrlBytes.get(index), salt++);
+                if (generated.add(shortUri)) {
+                    candidateIndexes.add(index);
+                    candidates.add(shortUri);
+                }
+            }
+            List<String> fullShortUrls = candidates.stream().map(each -> domain + "/" + each).toList();
+            List<Boolean> exists = fullShortUrlsExist.apply(fullShortUrls);
+            for (int i = 0; i < candidates.size(); i++) {
+                if (!exists.get(i)) {
+                    shortUris[candidateIndexes.get(i)] = candidates.get(i);
+                }
+            }
+            pending.removeIf(index -> shortUris[index] != null);
+        }
+        return Arrays.asList(shortUris);
+    }
+
+    private String hash(byte[] originUrlBytes, long salt) {
+        return fixedWidth ? HashUtil.hashToFixedBase62(originUrlBytes, salt) : HashUtil.hashToBase62(originUrlBytes, salt);
+    }
+}
@@ -0,0 +1,103 @@
+package com.kkk.shortlink.project.toolkit.suffix;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * 号段 ID 分配器
+ * 每次从共享计数器申请一段连续 ID 在本地分配，当前号段剩余不足阈值时异步预取下一段（双 Buffer），
+ * 稳定状态下分配 ID 不产生任何网络调用
+ */
+@Slf4j
+public class SegmentIdAllocator implements AutoCloseable {
+
+    /**
+     * 号段申请逻辑，入参为号段步长，返回申请后计数器的值，即号段的结束 ID（不包含）
+     */
+    private final LongUnaryOperator segmentFetcher;
+
+    private final long step;
+
+    private final long prefetchThreshold;
+
+    private final AtomicBoolean prefetching = new AtomicBoolean(false);
+
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(
+            ThreadFactoryBuilder.create().setNamePrefix("short-uri-segment-prefetch-").setDaemon(true).build()
+    );
+
+    private Segment current;
+
+    private volatile Segment next;
+
+    public SegmentIdAllocator(LongUnaryOperator segmentFetcher, long step, double prefetchRatio) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("号段步长必须大于0");
+        }
+        this.segmentFetcher = segmentFetcher;
+        this.step = step;
+        this.prefetchThreshold = (long) (step * prefetchRatio);
+    }
+
+    /**
+     * 分配下一个 ID
+     */
+    public synchronized long nextId() {
+        if (current == null || current.isExhausted()) {
+            Segment prefetched = next;
+            next = null;
+            current = prefetched != null ? prefetched : fetchSegment();
+        }
+        long id = current.cursor++;
+        if (current.remaining() <= prefetchThreshold && next == null && prefetching.compareAndSet(false, true)) {
+            prefetchExecutor.execute(this::prefetchSegment);
+        }
+        return id;
+    }
+
+    private void prefetchSegment() {
+        try {
+            next = fetchSegment();
+        } catch (RuntimeException ex) {
+            //预取失败不影响当前号段分配，号段耗尽时同步申请
+            log.warn("短链接号段预取失败", ex);
+        } finally {
+            prefetching.set(false);
+        }
+    }
+
+    private Segment fetchSegment() {
+        long end = segmentFetcher.applyAsLong(step);
+        return new Segment(end - step, end);
+    }
+
+    @Override
+    public void close() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    private static final class Segment {
+
+        private long cursor;
+
+        private final long end;
+
+        private Segment(long start, long end) {
+            this.cursor = start;
+            this.end = end;
+        }
+
+        private boolean isExhausted() {
+            return cursor >= end;
+        }
+
+        private long remaining() {
+            return end - cursor;
+        }
+    }
+}
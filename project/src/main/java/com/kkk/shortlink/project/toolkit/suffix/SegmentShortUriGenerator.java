@@ -0,0 +1,76 @@
+package com.kkk.shortlink.project.toolkit.suffix;
+
+import com.kkk.shortlink.project.common.convention.exception.ServiceException;
+import com.kkk.shortlink.project.toolkit.HashUtil;
+
+/**
+ * 号段模式短链接后缀生成器
+ * 号段分配的 ID 经可逆置换打散后编码为定长 7 位 Base62，ID 唯一则后缀唯一，无需布隆过滤器判重。
+ * 哈希模式生成的后缀不超过 6 位，两种模式的后缀不会相互冲突，可以随时切换
+ */
+public class SegmentShortUriGenerator implements ShortUriGenerator, AutoCloseable {
+
+    /**
+     * 后缀定长位数
+     */
+    public static final int SHORT_URI_LENGTH = 7;
+
+    /**
+     * 后缀容量 62^7
+     */
+    private static final long CAPACITY = 3521614606208L;
+
+    private static final int HALF_BITS = 21;
+
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+
+    private static final long[] ROUND_KEYS = {0x5DEECE66DL, 0x2545F4914F6CDD1DL, 0x9E3779B97F4A7C15L, 0xBF58476D1CE4E5B9L};
+
+    private final SegmentIdAllocator segmentIdAllocator;
+
+    public SegmentShortUriGenerator(SegmentIdAllocator segmentIdAllocator) {
+        this.segmentIdAllocator = segmentIdAllocator;
+    }
+
+    @Override
+    public String generate(String domain, String originUrl) {
+        long id = segmentIdAllocator.nextId();
+        if (id >= CAPACITY) {
+            throw new ServiceException("短链接号段已耗尽");
+        }
+        return HashUtil.toBase62(permute(id), SHORT_URI_LENGTH);
+    }
+
+    /**
+     * [0, 62^7) 上的双射：42 位 Feistel 网络置换，结果超出容量时继续置换直至落入区间（cycle walking），
+     * 连续的 ID 生成的后缀看起来是随机的，不暴露创建顺序和数量
+     */
+    static long permute(long id) {
+        long value = id;
+        do {
+            value = feistel(value);
+        } while (value >= CAPACITY);
+        return value;
+    }
+
+    private static long feistel(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (long roundKey : ROUND_KEYS) {
+            long mixed = left ^ (round(right, roundKey) & HALF_MASK);
+            left = right;
+            right = mixed;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private static long round(long half, long roundKey) {
+        long hash = (half ^ roundKey) * 0xFF51AFD7ED558CCDL;
+        return hash ^ (hash >>> 29);
+    }
+
+    @Override
+    public void close() {
+        segmentIdAllocator.close();
+    }
+}
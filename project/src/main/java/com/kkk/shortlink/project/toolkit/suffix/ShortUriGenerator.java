@@ -0,0 +1,34 @@
+package com.kkk.shortlink.project.toolkit.suffix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 短链接后缀生成器
+ */
+public interface ShortUriGenerator {
+
+    /**
+     * 生成短链接后缀
+     *
+     * @param domain    域名
+     * @param originUrl 原始链接
+     * @return 短链接后缀
+     */
+    String generate(String domain, String originUrl);
+
+    /**
+     * 批量生成同一域名下的短链接后缀，默认逐个生成
+     *
+     * @param domain     域名
+     * @param originUrls 原始链接
+     * @return 与原始链接顺序一致、互不重复的短链接后缀，重试次数用尽仍无法生成的位置为 null
+     */
+    default List<String> generateBatch(String domain, List<String> originUrls) {
+        List<String> shortUris = new ArrayList<>(originUrls.size());
+        for (String originUrl : originUrls) {
+            shortUris.add(generate(domain, originUrl));
+        }
+        return shortUris;
+    }
+}
@@ -0,0 +1,158 @@
+package com.kkk.shortlink.project.common.accesslog;
+
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessEvent;
+import com.kkk.shortlink.project.config.AccessLogProperties;
+import com.kkk.shortlink.project.dao.entity.LinkAccessLogDO;
+import com.kkk.shortlink.project.service.LinkAccessLogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShortLinkAccessLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordRoundTripTruncatesLongFields() {
+        ByteBuffer buffer = ByteBuffer.allocate(AccessLogRecord.RECORD_SIZE * 2);
+        assertThat(AccessLogRecord.read(buffer, 0)).isNull();
+        ShortLinkAccessEvent event = event("g1", "nurl.ink/a", 1700000000000L);
+        event.setUa("Mozilla/5.0 中文");
+        AccessLogRecord.write(buffer, 0, event);
+        assertThat(AccessLogRecord.read(buffer, 0)).isEqualTo(event);
+
+        ShortLinkAccessEvent longEvent = event("g1", "nurl.ink/b", 1700000000000L);
+        longEvent.setReferer("https://example.com/" + "x".repeat(2000));
+        longEvent.setUa(null);
+        AccessLogRecord.write(buffer, AccessLogRecord.RECORD_SIZE, longEvent);
+        ShortLinkAccessEvent read = AccessLogRecord.read(buffer, AccessLogRecord.RECORD_SIZE);
+        assertThat(read.getUa()).isNull();
+        assertThat(read.getReferer()).startsWith("https://example.com/").hasSizeLessThan(AccessLogRecord.RECORD_SIZE);
+    }
+
+    @Test
+    void rolledSegmentsAreLoadedPerShardAndDeleted() throws Exception {
+        AccessLogProperties properties = properties();
+        ShortLinkAccessLogWriter writer = new ShortLinkAccessLogWriter(properties, new SimpleMeterRegistry());
+        writer.afterPropertiesSet();
+        LinkAccessLogService linkAccessLogService = mock(LinkAccessLogService.class);
+        List<LinkAccessLogDO> saved = new ArrayList<>();
+        when(linkAccessLogService.saveBatch(anyCollection(), anyInt())).thenAnswer(invocation -> {
+            saved.addAll(invocation.getArgument(0));
+            return true;
+        });
+        ShortLinkAccessLogLoader loader = new ShortLinkAccessLogLoader(writer, linkAccessLogService, properties, new SimpleMeterRegistry());
+        for (int i = 0; i < 10; i++) {
+            writer.append(event("gid-" + (i % 3), "nurl.ink/" + i, 1700000000000L + i));
+        }
+        assertThat(writer.closedSegments()).hasSize(2);
+
+        loader.load();
+        assertThat(saved).hasSize(8);
+        assertThat(writer.closedSegments()).isEmpty();
+        //当前日志段与加载后预建的下一个日志段
+        assertThat(logFiles()).hasSize(2);
+
+        properties.setMaxSegmentAge(Duration.ZERO);
+        loader.load();
+        assertThat(saved).hasSize(10).extracting(LinkAccessLogDO::getFullShortUrl).doesNotHaveDuplicates();
+        writer.destroy();
+        assertThat(logFiles()).isEmpty();
+    }
+
+    @Test
+    void appendDropsWhenBacklogIsFull() throws Exception {
+        AccessLogProperties properties = properties();
+        properties.setMaxBacklogSegments(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ShortLinkAccessLogWriter writer = new ShortLinkAccessLogWriter(properties, meterRegistry);
+        writer.afterPropertiesSet();
+        for (int i = 0; i < 12; i++) {
+            writer.append(event("gid-" + i, "nurl.ink/" + i, 1700000000000L));
+        }
+        assertThat(writer.closedSegments()).hasSize(1);
+        assertThat(meterRegistry.get("short-link.access-log.appended").counter().count()).isEqualTo(8);
+        assertThat(meterRegistry.get("short-link.access-log.dropped").counter().count()).isEqualTo(4);
+        writer.destroy();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void failedLoadKeepsSegmentAndSkipsLoadedShardsOnRetry() throws Exception {
+        AccessLogProperties properties = properties();
+        ShortLinkAccessLogWriter writer = new ShortLinkAccessLogWriter(properties, new SimpleMeterRegistry());
+        writer.afterPropertiesSet();
+        for (int i = 0; i < 4; i++) {
+            writer.append(event("gid-" + i, "nurl.ink/" + i, 1700000000000L));
+        }
+        writer.destroy();
+
+        //重启后加载遗留日志段，第二个分表写入失败
+        ShortLinkAccessLogWriter restarted = new ShortLinkAccessLogWriter(properties, new SimpleMeterRegistry());
+        restarted.afterPropertiesSet();
+        assertThat(restarted.closedSegments()).hasSize(1);
+        LinkAccessLogService linkAccessLogService = mock(LinkAccessLogService.class);
+        when(linkAccessLogService.saveBatch(anyCollection(), anyInt()))
+                .thenReturn(true)
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(true);
+        ShortLinkAccessLogLoader loader = new ShortLinkAccessLogLoader(restarted, linkAccessLogService, properties, new SimpleMeterRegistry());
+        assertThatThrownBy(loader::load).isInstanceOf(IllegalStateException.class);
+        assertThat(restarted.closedSegments()).hasSize(1);
+
+        loader.load();
+        assertThat(restarted.closedSegments()).isEmpty();
+        ArgumentCaptor<Collection<LinkAccessLogDO>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(linkAccessLogService, atLeastOnce()).saveBatch(captor.capture(), anyInt());
+        List<Collection<LinkAccessLogDO>> batches = captor.getAllValues();
+        //失败的分表重试，已写入的分表不再重复写入
+        assertThat(batches.get(2)).isEqualTo(batches.get(1));
+        assertThat(batches.stream().mapToInt(Collection::size).sum() - batches.get(1).size()).isEqualTo(4);
+        restarted.destroy();
+    }
+
+    private AccessLogProperties properties() {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setEnabled(true);
+        properties.setDir(dir.toString());
+        properties.setSegmentRecords(4);
+        properties.setMaxSegmentAge(Duration.ofHours(1));
+        return properties;
+    }
+
+    private List<Path> logFiles() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+
+    private static ShortLinkAccessEvent event(String gid, String fullShortUrl, long timestamp) {
+        return ShortLinkAccessEvent.builder()
+                .fullShortUrl(fullShortUrl)
+                .gid(gid)
+                .uv("visitor")
+                .ip("10.0.0.1")
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.kkk.shortlink.project.common.bloom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import redis.embedded.RedisServer;
+
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedissonBloomFilterBatchTest {
+
+    private RedisServer redisServer;
+
+    private RedissonClient redissonClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:" + port);
+        redissonClient = Redisson.create(config);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @Test
+    void batchOperationsMatchRedissonBloomFilter() {
+        RBloomFilter<String> bloomFilter = redissonClient.getBloomFilter("shortLinkBloomFilterBatchTest");
+        bloomFilter.tryInit(100000, 0.001);
+        RedissonBloomFilterBatch batch = new RedissonBloomFilterBatch(redissonClient, bloomFilter);
+
+        //批量写入的位必须能被 RBloomFilter.contains 查到，否则跳转时会误判短链接不存在
+        List<String> batchAdded = IntStream.range(0, 500).mapToObj(each -> "nurl.ink/batch" + each).toList();
+        batch.addAll(batchAdded);
+        batchAdded.forEach(each -> assertThat(bloomFilter.contains(each)).as(each).isTrue());
+
+        List<String> singleAdded = IntStream.range(0, 500).mapToObj(each -> "nurl.ink/single" + each).toList();
+        singleAdded.forEach(bloomFilter::add);
+        assertThat(batch.containsAll(singleAdded)).containsOnly(true);
+
+        //未写入的元素批量判断与逐个判断结果一致，包括误判
+        List<String> absent = IntStream.range(0, 2000).mapToObj(each -> "nurl.ink/absent" + each).toList();
+        assertThat(batch.containsAll(absent)).isEqualTo(absent.stream().map(bloomFilter::contains).toList());
+    }
+}
@@ -0,0 +1,78 @@
+package com.kkk.shortlink.project.common.cache;
+
+import com.kkk.shortlink.project.config.LinkCountProperties;
+import com.kkk.shortlink.project.dao.mapper.ShortLinkMapper;
+import com.kkk.shortlink.project.dto.resp.ShortLinkGroupCountRespDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import redis.embedded.RedisServer;
+
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShortLinkCountCacheTest {
+
+    private static final String GID = "a1b2c3";
+
+    private RedisServer redisServer;
+
+    private RedissonClient redissonClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:" + port);
+        redissonClient = Redisson.create(config);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @Test
+    void countIsLoadedOnceThenMaintainedAndReconciled() {
+        ShortLinkMapper shortLinkMapper = mock(ShortLinkMapper.class);
+        when(shortLinkMapper.selectCount(any())).thenReturn(3L);
+        ShortLinkCountCache cache = new ShortLinkCountCache(redissonClient, shortLinkMapper, new LinkCountProperties(), new SimpleMeterRegistry());
+
+        //计数不存在时只累加不回填，避免把增量当作初值
+        cache.addAfterCommit(GID, 1);
+        assertThat(cache.get(GID)).isEqualTo(3);
+        cache.addAfterCommit(GID, 1);
+        cache.addAll(Map.of(GID, 2L));
+        assertThat(cache.get(GID)).isEqualTo(6);
+        verify(shortLinkMapper, times(1)).selectCount(any());
+        //批量读取时已有计数直接返回，缺失的分组单独统计
+        assertThat(cache.getAll(List.of(GID, "d4e5f6"))).isEqualTo(Map.of(GID, 6L, "d4e5f6", 3L));
+        verify(shortLinkMapper, times(2)).selectCount(any());
+
+        when(shortLinkMapper.listGroupLinkCount(anyCollection())).thenReturn(List.of(new ShortLinkGroupCountRespDTO(GID, 5)));
+        //第一次对账只记录不一致，连续两次看到相同的计数与统计值才修正
+        cache.reconcile();
+        assertThat(cache.get(GID)).isEqualTo(6);
+        cache.reconcile();
+        assertThat(cache.get(GID)).isEqualTo(5);
+    }
+}
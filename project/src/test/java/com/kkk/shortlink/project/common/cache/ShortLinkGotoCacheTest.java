@@ -0,0 +1,153 @@
+package com.kkk.shortlink.project.common.cache;
+
+import com.kkk.shortlink.project.common.stats.ShortLinkHotTracker;
+import com.kkk.shortlink.project.config.GotoCacheProperties;
+import com.kkk.shortlink.project.config.HotLinkProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ShortLinkGotoCacheTest {
+
+    private static final String FULL_SHORT_URL = "nurl.ink/3sKq1a";
+
+    private static final int CONCURRENCY = 64;
+
+    private ShortLinkGotoCache shortLinkGotoCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList(null, null));
+        RBloomFilter<String> bloomFilter = mock(RBloomFilter.class);
+        when(bloomFilter.contains(anyString())).thenReturn(true);
+        GotoCacheProperties gotoCacheProperties = new GotoCacheProperties();
+        shortLinkGotoCache = new ShortLinkGotoCache(
+                stringRedisTemplate,
+                mock(RedissonClient.class),
+                bloomFilter,
+                gotoCacheProperties,
+                new ShortLinkHotTracker(new HotLinkProperties(), new SimpleMeterRegistry()),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    void concurrentMissesOnSameKeyQueryDatabaseOnce() throws Exception {
+        AtomicInteger arrived = new AtomicInteger();
+        AtomicInteger databaseQueries = new AtomicInteger();
+        Function<String, ShortLinkGotoTarget> loader = fullShortUrl -> {
+            databaseQueries.incrementAndGet();
+            // 等所有请求都进入缓存查询后再返回，确保回源期间其余请求全部未命中
+            while (arrived.get() < CONCURRENCY) {
+                Thread.onSpinWait();
+            }
+            sleep(50);
+            return ShortLinkGotoTarget.builder().gid("g1").originUrl("https://example.com").build();
+        };
+
+        List<ShortLinkGotoTarget> results = runConcurrently(() -> {
+            arrived.incrementAndGet();
+            return shortLinkGotoCache.get(FULL_SHORT_URL, loader);
+        });
+
+        assertThat(databaseQueries).hasValue(1);
+        assertThat(results).hasSize(CONCURRENCY)
+                .allSatisfy(each -> assertThat(each.getOriginUrl()).isEqualTo("https://example.com"));
+    }
+
+    @Test
+    void loaderFailureIsSharedAndNextMissRetries() throws Exception {
+        AtomicInteger databaseQueries = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, ShortLinkGotoTarget> failingLoader = fullShortUrl -> {
+            databaseQueries.incrementAndGet();
+            await(release);
+            throw new IllegalStateException("db unavailable");
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> shortLinkGotoCache.get(FULL_SHORT_URL, failingLoader));
+            while (databaseQueries.get() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<?> second = executor.submit(() -> shortLinkGotoCache.get(FULL_SHORT_URL, failingLoader));
+            sleep(50);
+            release.countDown();
+            assertThatThrownBy(first::get).hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(second::get).hasCauseInstanceOf(IllegalStateException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(databaseQueries).hasValue(1);
+
+        ShortLinkGotoTarget target = shortLinkGotoCache.get(FULL_SHORT_URL,
+                fullShortUrl -> ShortLinkGotoTarget.builder().gid("g1").originUrl("https://example.com").build());
+        assertThat(target.getOriginUrl()).isEqualTo("https://example.com");
+    }
+
+    private List<ShortLinkGotoTarget> runConcurrently(Callable<ShortLinkGotoTarget> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<ShortLinkGotoTarget>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<ShortLinkGotoTarget> results = new ArrayList<>();
+            for (Future<ShortLinkGotoTarget> each : futures) {
+                results.add(each.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
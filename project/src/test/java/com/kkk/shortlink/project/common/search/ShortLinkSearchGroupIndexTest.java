@@ -0,0 +1,68 @@
+package com.kkk.shortlink.project.common.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShortLinkSearchGroupIndexTest {
+
+    private static final String GID = "a1b2c3";
+
+    @Test
+    void searchRanksDescribeMatchesFirstAndRequiresAllTerms() {
+        ShortLinkSearchGroupIndex index = new ShortLinkSearchGroupIndex();
+        index.add(document("nurl.ink/1", "https://www.example.com/sale/landing", "双十一活动落地页", 1L));
+        index.add(document("nurl.ink/2", "https://shop.example.com/double11?utm_source=sale", "店铺首页", 2L));
+        index.add(document("nurl.ink/3", "https://blog.example.com/posts/42", "技术博客", 3L));
+
+        ShortLinkSearchResult result = index.search("SALE", 0, 10);
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.fullShortUrls()).containsExactly("nurl.ink/1", "nurl.ink/2");
+
+        assertThat(index.search("sale 落地", 0, 10).fullShortUrls()).containsExactly("nurl.ink/1");
+        assertThat(index.search("活动", 0, 10).fullShortUrls()).containsExactly("nurl.ink/1");
+        //二元组都存在但不连续，校验时剔除
+        assertThat(index.search("salan", 0, 10).total()).isZero();
+        //单字符查询无法用二元组缩小范围，校验全部文档
+        assertThat(index.search("博", 0, 10).fullShortUrls()).containsExactly("nurl.ink/3");
+        //查询词占字段长度比例越高得分越高
+        assertThat(index.search("example", 0, 10).fullShortUrls()).containsExactly("nurl.ink/3", "nurl.ink/1", "nurl.ink/2");
+        ShortLinkSearchResult page = index.search("example", 1, 1);
+        assertThat(page.total()).isEqualTo(3);
+        assertThat(page.fullShortUrls()).containsExactly("nurl.ink/1");
+    }
+
+    @Test
+    void reindexedLinkReplacesPreviousDocument() {
+        ShortLinkSearchGroupIndex index = new ShortLinkSearchGroupIndex();
+        index.add(document("nurl.ink/1", "https://old.example.com", "旧描述", 1L));
+        index.add(document("nurl.ink/1", "https://new.example.com", "新描述", 1L));
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("old", 0, 10).total()).isZero();
+        assertThat(index.search("new", 0, 10).fullShortUrls()).containsExactly("nurl.ink/1");
+    }
+
+    @Test
+    void tombstonesAreCompactedOnceTheyOutnumberLiveDocuments() {
+        ShortLinkSearchGroupIndex index = new ShortLinkSearchGroupIndex();
+        index.add(document("nurl.ink/2", "https://other.example.com", "其他", 1L));
+        for (int i = 0; i < 2000; i++) {
+            index.add(document("nurl.ink/1", "https://rev" + i + ".example.com", "描述", 1L));
+        }
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.weight()).isLessThan(1100);
+        assertThat(index.search("rev1999", 0, 10).fullShortUrls()).containsExactly("nurl.ink/1");
+        assertThat(index.search("rev1998", 0, 10).total()).isZero();
+        assertThat(index.search("other", 0, 10).fullShortUrls()).containsExactly("nurl.ink/2");
+    }
+
+    private static ShortLinkSearchDocument document(String fullShortUrl, String originUrl, String describe, long createTime) {
+        return ShortLinkSearchDocument.builder()
+                .gid(GID)
+                .fullShortUrl(fullShortUrl)
+                .originUrl(originUrl)
+                .describe(describe)
+                .createTime(createTime)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.kkk.shortlink.project.common.stats;
+
+import com.kkk.shortlink.project.config.ClickNumFlushProperties;
+import com.kkk.shortlink.project.config.ClickStreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShortLinkClickStreamerTest {
+
+    @Test
+    void deltasAreDrainedOncePerLinkAndOnlyForSubscribedGroups() {
+        ShortLinkClickCounter counter = new ShortLinkClickCounter(new ClickNumFlushProperties(), new TransactionTemplate(), new SimpleMeterRegistry());
+        counter.increment("g1", "nurl.ink/a");
+        counter.increment("g2", "nurl.ink/b");
+        //订阅前的点击不推送
+        counter.drainLiveDeltas(gid -> false);
+
+        counter.increment("g1", "nurl.ink/a");
+        counter.increment("g1", "nurl.ink/a");
+        counter.increment("g1", "nurl.ink/c");
+        counter.increment("g2", "nurl.ink/b");
+        assertThat(counter.drainLiveDeltas("g1"::equals))
+                .isEqualTo(Map.of("g1", Map.of("nurl.ink/a", 2L, "nurl.ink/c", 1L)));
+        assertThat(counter.drainLiveDeltas(gid -> true)).isEmpty();
+    }
+
+    @Test
+    void subscriptionsShareOneChannelPerGroup() {
+        ShortLinkClickCounter counter = new ShortLinkClickCounter(new ClickNumFlushProperties(), new TransactionTemplate(), new SimpleMeterRegistry());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ShortLinkClickStreamer streamer = new ShortLinkClickStreamer(counter, new ClickStreamProperties(), meterRegistry);
+        streamer.subscribe("g1");
+        streamer.subscribe("g1");
+        streamer.subscribe("g2");
+        assertThat(meterRegistry.get("short-link.click-stream.subscribed-groups").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("short-link.click-stream.emitters").gauge().value()).isEqualTo(3);
+
+        //连接尚未交给容器时事件先缓存在连接中，推送不抛异常
+        counter.increment("g1", "nurl.ink/a");
+        streamer.publish();
+        streamer.destroy();
+        assertThat(meterRegistry.get("short-link.click-stream.subscribed-groups").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,51 @@
+package com.kkk.shortlink.project.common.stats;
+
+import com.kkk.shortlink.project.config.HotLinkProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShortLinkHotTrackerTest {
+
+    @Test
+    void heavyHittersAreTrackedAmongLongTail() {
+        ShortLinkHotTracker tracker = tracker(3);
+        for (int round = 0; round < 200; round++) {
+            tracker.record("g1", "nurl.ink/hot-a");
+            tracker.record("g1", "nurl.ink/hot-a");
+            tracker.record("g1", "nurl.ink/hot-b");
+            if (round % 2 == 0) {
+                tracker.record("g1", "nurl.ink/hot-c");
+            }
+            for (int i = 0; i < 20; i++) {
+                tracker.record("g2", "nurl.ink/tail-" + round + "-" + i);
+            }
+        }
+        assertThat(tracker.topK()).extracting(ShortLinkHotTracker.HotLink::getFullShortUrl)
+                .containsExactly("nurl.ink/hot-a", "nurl.ink/hot-b", "nurl.ink/hot-c");
+        assertThat(tracker.topK().get(0).getHits()).isGreaterThanOrEqualTo(400);
+    }
+
+    @Test
+    void decayLetsNewHotLinksReplaceOldOnes() {
+        ShortLinkHotTracker tracker = tracker(1);
+        assertThat(tracker.record("g1", "nurl.ink/old")).isTrue();
+        for (int i = 0; i < 100; i++) {
+            tracker.record("g1", "nurl.ink/old");
+        }
+        for (int i = 0; i < 10; i++) {
+            tracker.decay();
+        }
+        assertThat(tracker.isHot("nurl.ink/old")).isFalse();
+        assertThat(tracker.record("g1", "nurl.ink/new")).isTrue();
+        assertThat(tracker.isHot("nurl.ink/new")).isTrue();
+    }
+
+    private static ShortLinkHotTracker tracker(int topK) {
+        HotLinkProperties properties = new HotLinkProperties();
+        properties.setTopK(topK);
+        properties.setSketchWidth(1024);
+        return new ShortLinkHotTracker(properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,51 @@
+package com.kkk.shortlink.project.common.stats;
+
+import com.kkk.shortlink.project.config.LinkStatsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static com.kkk.shortlink.project.common.stats.UserAgentClassifier.UNKNOWN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserAgentClassifierTest {
+
+    private static final String WINDOWS_CHROME = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+
+    private static final String IPHONE_SAFARI = "Mozilla/5.0 (iPhone; CPU iPhone OS 17_1 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.1 Mobile/15E148 Safari/604.1";
+
+    private static final String ANDROID_CHROME = "Mozilla/5.0 (Linux; Android 14; Pixel 8) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Mobile Safari/537.36";
+
+    @Test
+    void desktopMobileAndUnknownUserAgentsAreClassified() {
+        UserAgentClassifier classifier = classifier();
+        assertThat(classifier.classify(WINDOWS_CHROME))
+                .isEqualTo(new UserAgentClassifier.UserAgentClassification("Chrome", "Windows 10 or Windows Server 2016", "PC"));
+        assertThat(classifier.classify(IPHONE_SAFARI))
+                .isEqualTo(new UserAgentClassifier.UserAgentClassification("Safari", "iPhone", "Mobile"));
+        assertThat(classifier.classify(ANDROID_CHROME))
+                .isEqualTo(new UserAgentClassifier.UserAgentClassification("Chrome", "Android", "Mobile"));
+        assertThat(classifier.classify("unknown-client/1.0"))
+                .isEqualTo(new UserAgentClassifier.UserAgentClassification(UNKNOWN, UNKNOWN, "PC"));
+        assertThat(classifier.classify(null)).isEqualTo(new UserAgentClassifier.UserAgentClassification(UNKNOWN, UNKNOWN, UNKNOWN));
+        assertThat(classifier.classify(" ")).isEqualTo(new UserAgentClassifier.UserAgentClassification(UNKNOWN, UNKNOWN, UNKNOWN));
+    }
+
+    @Test
+    void repeatedUserAgentIsServedFromCache() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UserAgentClassifier classifier = new UserAgentClassifier(properties(2), meterRegistry);
+        UserAgentClassifier.UserAgentClassification first = classifier.classify(WINDOWS_CHROME);
+        assertThat(classifier.classify(WINDOWS_CHROME)).isSameAs(first);
+        assertThat(meterRegistry.get("short-link.user-agent.hit-ratio").gauge().value()).isEqualTo(0.5D);
+    }
+
+    private static UserAgentClassifier classifier() {
+        return new UserAgentClassifier(properties(100), new SimpleMeterRegistry());
+    }
+
+    private static LinkStatsProperties properties(long userAgentCacheMaximumSize) {
+        LinkStatsProperties properties = new LinkStatsProperties();
+        properties.setUserAgentCacheMaximumSize(userAgentCacheMaximumSize);
+        return properties;
+    }
+}
@@ -0,0 +1,176 @@
+package com.kkk.shortlink.project.mq.consumer;
+
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessEvent;
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessStats;
+import com.kkk.shortlink.project.common.stats.ShortLinkAccessStatsAggregator;
+import com.kkk.shortlink.project.common.stats.UserAgentClassifier;
+import com.kkk.shortlink.project.config.LinkStatsProperties;
+import com.kkk.shortlink.project.dao.entity.LinkAccessStatsDO;
+import com.kkk.shortlink.project.dao.entity.LinkUaStatsDO;
+import com.kkk.shortlink.project.mq.producer.ShortLinkStatsStreamProducer;
+import com.kkk.shortlink.project.service.LinkAccessStatsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+import redis.embedded.RedisServer;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.LINK_STATS_STREAM_GROUP;
+import static com.kkk.shortlink.project.common.constant.RedisKeyConstant.LINK_STATS_STREAM_KEY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class ShortLinkStatsStreamConsumerTest {
+
+    private static final String FULL_SHORT_URL = "nurl.ink/3sKq1a";
+
+    private static final String GID = "a1b2c3";
+
+    private RedisServer redisServer;
+
+    private RedissonClient redissonClient;
+
+    private LinkStatsProperties linkStatsProperties;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:" + port);
+        redissonClient = Redisson.create(config);
+        linkStatsProperties = new LinkStatsProperties();
+        linkStatsProperties.setConsumeBlockTimeout(Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @Test
+    void replayAfterFailedSaveDoesNotDoubleCount() throws Exception {
+        ShortLinkStatsStreamProducer producer = new ShortLinkStatsStreamProducer(redissonClient, linkStatsProperties, new SimpleMeterRegistry());
+        long timestamp = System.currentTimeMillis();
+        producer.send(event("visitor-1", "10.0.0.1", timestamp));
+        producer.send(event("visitor-1", "10.0.0.1", timestamp));
+        producer.send(event("visitor-2", "10.0.0.2", timestamp));
+        for (int i = 0; i < 50 && redissonClient.getStream(LINK_STATS_STREAM_KEY, StringCodec.INSTANCE).size() < 3; i++) {
+            Thread.sleep(100);
+        }
+
+        //第一次写库失败模拟消费者在确认前宕机，消息保留在待确认列表中重放
+        LinkAccessStatsService linkAccessStatsService = mock(LinkAccessStatsService.class);
+        doThrow(new IllegalStateException("database unavailable")).doNothing().when(linkAccessStatsService).saveStats(any());
+        ShortLinkStatsStreamConsumer consumer = new ShortLinkStatsStreamConsumer(
+                redissonClient,
+                new ShortLinkAccessStatsAggregator(redissonClient, linkStatsProperties, new UserAgentClassifier(linkStatsProperties, new SimpleMeterRegistry())),
+                linkAccessStatsService,
+                linkStatsProperties,
+                new SimpleMeterRegistry()
+        );
+        consumer.afterPropertiesSet();
+        try {
+            ArgumentCaptor<ShortLinkAccessStats> captor = ArgumentCaptor.forClass(ShortLinkAccessStats.class);
+            verify(linkAccessStatsService, timeout(10000).times(2)).saveStats(captor.capture());
+            List<ShortLinkAccessStats> saved = captor.getAllValues();
+            assertThat(saved.get(1)).isEqualTo(saved.get(0));
+            assertStats(saved.get(1).getHourStats(), 3, 2, 2);
+            assertStats(saved.get(1).getDayStats(), 3, 2, 2);
+            assertStats(saved.get(1).getMonthStats(), 3, 2, 2);
+            for (int i = 0; i < 50 && redissonClient.getStream(LINK_STATS_STREAM_KEY, StringCodec.INSTANCE)
+                    .getPendingInfo(LINK_STATS_STREAM_GROUP).getTotal() > 0; i++) {
+                Thread.sleep(100);
+            }
+            assertThat(redissonClient.getStream(LINK_STATS_STREAM_KEY, StringCodec.INSTANCE).getPendingInfo(LINK_STATS_STREAM_GROUP).getTotal()).isZero();
+        } finally {
+            consumer.destroy();
+        }
+    }
+
+    @Test
+    void aggregateSameMessagesTwiceKeepsCounts() {
+        ShortLinkAccessStatsAggregator aggregator = new ShortLinkAccessStatsAggregator(redissonClient, linkStatsProperties, new UserAgentClassifier(linkStatsProperties, new SimpleMeterRegistry()));
+        long timestamp = System.currentTimeMillis();
+        Map<String, ShortLinkAccessEvent> events = new LinkedHashMap<>();
+        events.put(timestamp + "-0", event("visitor-1", "10.0.0.1", timestamp));
+        events.put(timestamp + "-1", event("visitor-2", "10.0.0.1", timestamp));
+        ShortLinkAccessStats first = aggregator.aggregate(events);
+        ShortLinkAccessStats second = aggregator.aggregate(events);
+        assertStats(first.getHourStats(), 2, 2, 1);
+        assertThat(second).isEqualTo(first);
+
+        events.put(timestamp + "-2", event("visitor-3", "10.0.0.3", timestamp));
+        assertStats(aggregator.aggregate(events).getDayStats(), 3, 3, 2);
+    }
+
+    @Test
+    void userAgentBreakdownIsDedupedAndParsedOncePerDistinctUa() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UserAgentClassifier classifier = new UserAgentClassifier(linkStatsProperties, meterRegistry);
+        ShortLinkAccessStatsAggregator aggregator = new ShortLinkAccessStatsAggregator(redissonClient, linkStatsProperties, classifier);
+        String chrome = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+        long timestamp = System.currentTimeMillis();
+        Map<String, ShortLinkAccessEvent> events = new LinkedHashMap<>();
+        for (int i = 0; i < 3; i++) {
+            ShortLinkAccessEvent event = event("visitor-" + i, "10.0.0.1", timestamp);
+            event.setUa(i < 2 ? chrome : null);
+            events.put(timestamp + "-" + i, event);
+        }
+        aggregator.aggregate(events);
+        List<LinkUaStatsDO> uaStats = aggregator.aggregate(events).getUaStats();
+        assertThat(uaStats).extracting(LinkUaStatsDO::getType, LinkUaStatsDO::getName, LinkUaStatsDO::getCnt)
+                .containsExactlyInAnyOrder(
+                        tuple("browser", "Chrome", 2), tuple("browser", "Unknown", 1),
+                        tuple("os", "Windows 10 or Windows Server 2016", 2), tuple("os", "Unknown", 1),
+                        tuple("device", "PC", 2), tuple("device", "Unknown", 1));
+        //两次聚合共 4 次解析同一 User-Agent，只有第一次未命中缓存
+        assertThat(meterRegistry.get("short-link.user-agent.hit-ratio").gauge().value()).isEqualTo(0.75);
+    }
+
+    @Test
+    void streamEntriesRoundTrip() {
+        ShortLinkAccessEvent event = event("visitor-1", "10.0.0.1", 1700000000000L);
+        event.setUa("Mozilla/5.0");
+        assertThat(ShortLinkAccessEvent.fromStreamEntries(event.toStreamEntries())).isEqualTo(event);
+    }
+
+    private static ShortLinkAccessEvent event(String uv, String ip, long timestamp) {
+        return ShortLinkAccessEvent.builder()
+                .fullShortUrl(FULL_SHORT_URL)
+                .gid(GID)
+                .uv(uv)
+                .ip(ip)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private static void assertStats(List<LinkAccessStatsDO> stats, int pv, int uv, int uip) {
+        assertThat(stats).hasSize(1);
+        assertThat(stats.get(0).getGid()).isEqualTo(GID);
+        assertThat(stats.get(0).getPv()).isEqualTo(pv);
+        assertThat(stats.get(0).getUv()).isEqualTo(uv);
+        assertThat(stats.get(0).getUip()).isEqualTo(uip);
+    }
+}
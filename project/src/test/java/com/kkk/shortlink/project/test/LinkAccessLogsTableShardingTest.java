@@ -0,0 +1,26 @@
+package com.kkk.shortlink.project.test;
+
+public class LinkAccessLogsTableShardingTest {
+
+    public static final String SQL = "CREATE TABLE `t_link_access_logs_%d` (\n" +
+            "  `id` bigint NOT NULL AUTO_INCREMENT COMMENT 'ID',\n" +
+            "  `gid` varchar(32) DEFAULT NULL COMMENT '分组标识',\n" +
+            "  `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',\n" +
+            "  `uv` varchar(64) DEFAULT NULL COMMENT '访客标识',\n" +
+            "  `ip` varchar(64) DEFAULT NULL COMMENT '访客IP',\n" +
+            "  `user_agent` varchar(512) DEFAULT NULL COMMENT 'User-Agent',\n" +
+            "  `referer` varchar(1024) DEFAULT NULL COMMENT '来源页面',\n" +
+            "  `access_time` datetime(3) DEFAULT NULL COMMENT '访问时间',\n" +
+            "  `create_time` datetime DEFAULT NULL COMMENT '创建时间',\n" +
+            "  `update_time` datetime DEFAULT NULL COMMENT '修改时间',\n" +
+            "  `del_flag` tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',\n" +
+            "  PRIMARY KEY (`id`),\n" +
+            "  KEY `idx_full_short_url_access_time` (`full_short_url`,`access_time`) USING BTREE\n" +
+            ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;";
+
+    public static void main(String[] args) {
+        for (int i = 0; i < 16; i++) {
+            System.out.printf((SQL) + "%n", i);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.kkk.shortlink.project.test;
+
+public class LinkAccessStatsTableShardingTest {
+
+    public static final String SQL = "CREATE TABLE `t_link_access_stats_%d` (\n" +
+            "  `id` bigint NOT NULL AUTO_INCREMENT COMMENT 'ID',\n" +
+            "  `gid` varchar(32) DEFAULT NULL COMMENT '分组标识',\n" +
+            "  `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',\n" +
+            "  `date` date DEFAULT NULL COMMENT '日期',\n" +
+            "  `hour` int DEFAULT NULL COMMENT '小时',\n" +
+            "  `pv` int DEFAULT NULL COMMENT '访问量',\n" +
+            "  `uv` int DEFAULT NULL COMMENT '独立访客数',\n" +
+            "  `uip` int DEFAULT NULL COMMENT '独立IP数',\n" +
+            "  `create_time` datetime DEFAULT NULL COMMENT '创建时间',\n" +
+            "  `update_time` datetime DEFAULT NULL COMMENT '修改时间',\n" +
+            "  `del_flag` tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',\n" +
+            "  PRIMARY KEY (`id`),\n" +
+            "  UNIQUE KEY `idx_unique_access_stats` (`full_short_url`,`date`,`hour`) USING BTREE,\n" +
+            "  KEY `idx_gid_date` (`gid`,`date`) USING BTREE\n" +
+            ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;";
+
+    public static final String DAY_SQL = "CREATE TABLE `t_link_access_stats_day_%d` (\n" +
+            "  `id` bigint NOT NULL AUTO_INCREMENT COMMENT 'ID',\n" +
+            "  `gid` varchar(32) DEFAULT NULL COMMENT '分组标识',\n" +
+            "  `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',\n" +
+            "  `date` date DEFAULT NULL COMMENT '日期',\n" +
+            "  `pv` int DEFAULT NULL COMMENT '访问量',\n" +
+            "  `uv` int DEFAULT NULL COMMENT '独立访客数',\n" +
+            "  `uip` int DEFAULT NULL COMMENT '独立IP数',\n" +
+            "  `create_time` datetime DEFAULT NULL COMMENT '创建时间',\n" +
+            "  `update_time` datetime DEFAULT NULL COMMENT '修改时间',\n" +
+            "  `del_flag` tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',\n" +
+            "  PRIMARY KEY (`id`),\n" +
+            "  UNIQUE KEY `idx_unique_access_stats_day` (`full_short_url`,`date`) USING BTREE,\n" +
+            "  KEY `idx_gid_date` (`gid`,`date`) USING BTREE\n" +
+            ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;";
+
+    public static final String MONTH_SQL = DAY_SQL.replace("t_link_access_stats_day_", "t_link_access_stats_month_")
+            .replace("idx_unique_access_stats_day", "idx_unique_access_stats_month")
+            .replace("'日期'", "'月份，当月第一天'");
+
+    public static void main(String[] args) {
+        for (int i = 0; i < 16; i++) {
+            System.out.printf((SQL) + "%n", i);
+        }
+        for (int i = 0; i < 16; i++) {
+            System.out.printf((DAY_SQL) + "%n", i);
+        }
+        for (int i = 0; i < 16; i++) {
+            System.out.printf((MONTH_SQL) + "%n", i);
+        }
+    }
+}
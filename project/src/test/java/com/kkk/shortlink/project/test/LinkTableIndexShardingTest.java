@@ -0,0 +1,15 @@
+package com.kkk.shortlink.project.test;
+
+/**
+ * 短链接分表游标分页索引：等值条件列在前、排序列在后，游标查询直接在索引上定位起点后顺序读取
+ */
+public class LinkTableIndexShardingTest {
+
+    public static final String SQL = "ALTER TABLE `t_link_%d` ADD INDEX `idx_gid_create_time_id` (`gid`,`enable_status`,`del_flag`,`create_time`,`id`) USING BTREE;";
+
+    public static void main(String[] args) {
+        for (int i = 0; i < 16; i++) {
+            System.out.printf((SQL) + "%n", i);
+        }
+    }
+}
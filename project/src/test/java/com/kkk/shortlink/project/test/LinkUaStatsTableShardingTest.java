@@ -0,0 +1,26 @@
+package com.kkk.shortlink.project.test;
+
+public class LinkUaStatsTableShardingTest {
+
+    public static final String SQL = "CREATE TABLE `t_link_ua_stats_%d` (\n" +
+            "  `id` bigint NOT NULL AUTO_INCREMENT COMMENT 'ID',\n" +
+            "  `gid` varchar(32) DEFAULT NULL COMMENT '分组标识',\n" +
+            "  `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',\n" +
+            "  `date` date DEFAULT NULL COMMENT '日期',\n" +
+            "  `type` varchar(16) DEFAULT NULL COMMENT '统计维度 browser 浏览器 os 操作系统 device 设备类型',\n" +
+            "  `name` varchar(64) DEFAULT NULL COMMENT '维度取值',\n" +
+            "  `cnt` int DEFAULT NULL COMMENT '访问量',\n" +
+            "  `create_time` datetime DEFAULT NULL COMMENT '创建时间',\n" +
+            "  `update_time` datetime DEFAULT NULL COMMENT '修改时间',\n" +
+            "  `del_flag` tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',\n" +
+            "  PRIMARY KEY (`id`),\n" +
+            "  UNIQUE KEY `idx_unique_ua_stats` (`full_short_url`,`date`,`type`,`name`) USING BTREE,\n" +
+            "  KEY `idx_gid_date` (`gid`,`date`) USING BTREE\n" +
+            ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;";
+
+    public static void main(String[] args) {
+        for (int i = 0; i < 16; i++) {
+            System.out.printf((SQL) + "%n", i);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.kkk.shortlink.project.test;
+
+/**
+ * 短链接号段表，不分片；号段模式启动前需插入号段记录。
+ * 由 Redis 计数器 short-link:suffix:segment 迁移时，max_id 初始化为该计数器的当前值，否则为 0
+ */
+public class ShortUriSegmentTableTest {
+
+    public static final String SQL = "CREATE TABLE `t_short_uri_segment` (\n" +
+            "  `biz_tag` varchar(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci NOT NULL COMMENT '业务标识',\n" +
+            "  `max_id` bigint NOT NULL DEFAULT '0' COMMENT '已分配的最大ID（不包含）',\n" +
+            "  `update_time` datetime DEFAULT NULL COMMENT '修改时间',\n" +
+            "  PRIMARY KEY (`biz_tag`)\n" +
+            ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;";
+
+    public static final String INIT_SQL = "INSERT INTO `t_short_uri_segment` (`biz_tag`, `max_id`, `update_time`) VALUES ('short-uri', 0, NOW());";
+
+    public static void main(String[] args) {
+        System.out.println(SQL);
+        System.out.println(INIT_SQL);
+    }
+}
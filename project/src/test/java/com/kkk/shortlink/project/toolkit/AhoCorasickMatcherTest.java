@@ -0,0 +1,33 @@
+package com.kkk.shortlink.project.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AhoCorasickMatcherTest {
+
+    @Test
+    void matchesAnyPatternIgnoringCase() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("bot/", "facebookexternalhit", "whatsapp", "spider"));
+        assertThat(matcher.match("Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)")).isZero();
+        assertThat(matcher.match("facebookexternalhit/1.1 (+http://www.facebook.com/externalhit_uatext.php)")).isEqualTo(1);
+        assertThat(matcher.match("WhatsApp/2.23.20.0 A")).isEqualTo(2);
+        assertThat(matcher.match("Mozilla/5.0 (compatible; Baiduspider/2.0)")).isEqualTo(3);
+        assertThat(matcher.match("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/120.0 Safari/537.36")).isEqualTo(-1);
+        assertThat(matcher.match(null)).isEqualTo(-1);
+    }
+
+    @Test
+    void failureLinksFindOverlappingPatterns() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("she", "he", "hers", "abcd", "bc"));
+        assertThat(matcher.match("ushers")).isZero();
+        assertThat(matcher.match("xhex")).isEqualTo(1);
+        assertThat(matcher.match("abce")).isEqualTo(4);
+        //非 ASCII 字符打断匹配
+        assertThat(matcher.match("h中e")).isEqualTo(-1);
+        assertThatThrownBy(() -> new AhoCorasickMatcher(List.of("机器人"))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
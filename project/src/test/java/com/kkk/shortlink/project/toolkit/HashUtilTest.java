@@ -0,0 +1,70 @@
+package com.kkk.shortlink.project.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashUtilTest {
+
+    private static final String[] SAMPLES = {
+            "",
+            "https://nageoffer.com",
+            "https://www.example.com/path?query=中文&emoji=😀",
+            "ÿ€߿ࠀ￿",
+            "unpaired-high-\uD83D",
+            "unpaired-low-\uDE00-tail",
+            "\uDE00\uD83D"
+    };
+
+    private static final long[] SALTS = {0L, 7L, -1L, 1700000000000L, Long.MAX_VALUE, Long.MIN_VALUE};
+
+    @Test
+    void compatibleModeMatchesConcatenatedHash() {
+        for (String sample : SAMPLES) {
+            for (long salt : SALTS) {
+                assertThat(HashUtil.hashToBase62(sample.getBytes(StandardCharsets.UTF_8), salt)).isEqualTo(HashUtil.hashToBase62(sample + salt));
+            }
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            String sample = randomString(random);
+            long salt = random.nextLong();
+            assertThat(HashUtil.hashToBase62(sample.getBytes(StandardCharsets.UTF_8), salt)).isEqualTo(HashUtil.hashToBase62(sample + salt));
+        }
+    }
+
+    @Test
+    void fixedWidthModeDecodesToSameHash() {
+        Random random = new Random(7);
+        for (int i = 0; i < 10000; i++) {
+            String sample = randomString(random);
+            long salt = random.nextLong();
+            byte[] bytes = sample.getBytes(StandardCharsets.UTF_8);
+            String fixed = HashUtil.hashToFixedBase62(bytes, salt);
+            assertThat(fixed).hasSize(HashUtil.HASH_BASE62_WIDTH);
+            assertThat(HashUtil.base62ToLong(fixed)).isEqualTo(HashUtil.base62ToLong(HashUtil.hashToBase62(bytes, salt)));
+        }
+    }
+
+    @Test
+    void base62RoundTrip() {
+        long[] values = {0L, 1L, 61L, 62L, 4294967295L, 3521614606207L, Long.MAX_VALUE};
+        for (long value : values) {
+            assertThat(HashUtil.base62ToLong(HashUtil.toBase62(value, 11))).isEqualTo(value);
+        }
+        assertThatThrownBy(() -> HashUtil.base62ToLong("ab-c")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HashUtil.base62ToLong("zzzzzzzzzzz")).isInstanceOf(ArithmeticException.class);
+    }
+
+    private static String randomString(Random random) {
+        char[] chars = new char[random.nextInt(64)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = random.nextInt(4) == 0 ? (char) random.nextInt(Character.MAX_VALUE + 1) : (char) (0x20 + random.nextInt(0x5F));
+        }
+        return new String(chars);
+    }
+}
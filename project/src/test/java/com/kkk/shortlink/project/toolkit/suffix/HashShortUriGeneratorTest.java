@@ -0,0 +1,31 @@
+package com.kkk.shortlink.project.toolkit.suffix;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashShortUriGeneratorTest {
+
+    @Test
+    void batchLeavesOnlyExhaustedItemsUnresolved() {
+        AtomicInteger rounds = new AtomicInteger();
+        //首轮只有第二条冲突，之后每轮重试的候选都冲突
+        HashShortUriGenerator generator = new HashShortUriGenerator(
+                fullShortUrl -> false,
+                fullShortUrls -> rounds.getAndIncrement() == 0
+                        ? List.of(false, true, false)
+                        : fullShortUrls.stream().map(each -> true).toList(),
+                true
+        );
+        List<String> shortUris = generator.generateBatch("nurl.ink", List.of("https://a.example.com", "https://b.example.com", "https://c.example.com"));
+        assertThat(shortUris).hasSize(3);
+        assertThat(shortUris.get(0)).isNotNull();
+        assertThat(shortUris.get(1)).isNull();
+        assertThat(shortUris.get(2)).isNotNull().isNotEqualTo(shortUris.get(0));
+        //首轮之后只重试冲突的那一条
+        assertThat(rounds.get()).isEqualTo(11);
+    }
+}
@@ -0,0 +1,45 @@
+package com.kkk.shortlink.project.toolkit.suffix;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentIdAllocatorTest {
+
+    private static final int THREADS = 8;
+
+    private static final int IDS_PER_THREAD = 50000;
+
+    @Test
+    void concurrentNextIdNeverRepeatsAcrossSegmentSwitches() {
+        AtomicLong counter = new AtomicLong();
+        AtomicLong fetches = new AtomicLong();
+        //号段很小，分配过程中频繁预取和切换号段；申请时让出线程，放大预取与同步申请交错的机会
+        try (SegmentIdAllocator allocator = new SegmentIdAllocator(step -> {
+            fetches.incrementAndGet();
+            Thread.yield();
+            return counter.addAndGet(step);
+        }, 64, 0.5)) {
+            List<CompletableFuture<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(CompletableFuture.supplyAsync(() -> IntStream.range(0, IDS_PER_THREAD).mapToLong(each -> allocator.nextId()).toArray()));
+            }
+            long[] ids = futures.stream().map(CompletableFuture::join).flatMapToLong(Arrays::stream).sorted().toArray();
+            assertThat(ids).hasSize(THREADS * IDS_PER_THREAD);
+            for (int i = 1; i < ids.length; i++) {
+                assertThat(ids[i]).isNotEqualTo(ids[i - 1]);
+            }
+            //分配的 ID 都来自已申请的号段
+            assertThat(ids[0]).isGreaterThanOrEqualTo(0);
+            assertThat(ids[ids.length - 1]).isLessThan(counter.get());
+            assertThat(fetches.get()).isGreaterThan((long) THREADS * IDS_PER_THREAD / 64 - 1);
+        }
+    }
+}
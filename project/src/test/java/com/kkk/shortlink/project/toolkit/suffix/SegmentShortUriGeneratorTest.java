@@ -0,0 +1,43 @@
+package com.kkk.shortlink.project.toolkit.suffix;
+
+import com.kkk.shortlink.project.toolkit.HashUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentShortUriGeneratorTest {
+
+    private static final long CAPACITY = 3521614606208L;
+
+    private static final int SAMPLE_SIZE = 1 << 20;
+
+    @Test
+    void permuteIsInjectiveAndStaysWithinCapacity() {
+        //区间首尾各取一段连续 ID，尾部的 ID 置换后最容易超出容量触发 cycle walking
+        long[] permuted = new long[SAMPLE_SIZE * 2];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            permuted[i] = SegmentShortUriGenerator.permute(i);
+            permuted[SAMPLE_SIZE + i] = SegmentShortUriGenerator.permute(CAPACITY - 1 - i);
+        }
+        assertThat(Arrays.stream(permuted).allMatch(each -> each >= 0 && each < CAPACITY)).isTrue();
+        Arrays.sort(permuted);
+        for (int i = 1; i < permuted.length; i++) {
+            assertThat(permuted[i]).isNotEqualTo(permuted[i - 1]);
+        }
+    }
+
+    @Test
+    void generatedSuffixHasFixedWidth() {
+        AtomicLong counter = new AtomicLong();
+        try (SegmentShortUriGenerator generator = new SegmentShortUriGenerator(new SegmentIdAllocator(counter::addAndGet, 100, 0.2))) {
+            for (int i = 0; i < 1000; i++) {
+                String shortUri = generator.generate("nurl.ink", "https://www.example.com");
+                assertThat(shortUri).hasSize(SegmentShortUriGenerator.SHORT_URI_LENGTH);
+                assertThat(HashUtil.base62ToLong(shortUri)).isLessThan(CAPACITY);
+            }
+        }
+    }
+}